@@ -5,10 +5,12 @@ from linear import linear_predict
 from map_openweather_to_coco import map_openweather_to_coco
 from datetime import datetime
 from rf_predict import random_forest
-from xgboost_predict import xgb_predict
+from xgboost_predict import xgb_predict, xgb_predict_batch
 from fetch_interest import fetch_interest, get_cached_interest
+from tracing import init_tracing
 
 app = Flask(__name__)
+init_tracing(app)
 
 @app.route("/predict/linear", methods=["POST"])
 def linear_predict():
@@ -98,7 +100,33 @@ def predict_xgb():
         import traceback
         traceback.print_exc()
         return jsonify({"error": str(e)}), 400
-    
+
+
+# Same inputs as /predict/xgb, many at once: {"predictions": [<xgb request>, ...]}
+# Answers {"busyness_scores": [...]} in request order, from a single model call.
+@app.route("/predict/xgb/batch", methods=["POST"])
+def predict_xgb_batch():
+    try:
+        data = request.get_json()
+        rows = []
+        for item in data["predictions"]:
+            weather = item["weather"]
+            rows.append({
+                "timestamp": item["timestamp"],
+                "zone_id": item["zone_id"],
+                "temp": weather.get("temp"),
+                "prcp": weather.get("prcp"),
+                "interest": get_cached_interest(item["zone_name"]),
+            })
+
+        print(f"[INFO] Received batch prediction request for {len(rows)} zone-hours")
+        return jsonify({"busyness_scores": xgb_predict_batch(rows)})
+
+    except Exception as e:
+        import traceback
+        traceback.print_exc()
+        return jsonify({"error": str(e)}), 400
+
 
 if __name__ == "__main__":
     app.run(host="0.0.0.0", port=5000)
\ No newline at end of file
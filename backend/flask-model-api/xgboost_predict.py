@@ -124,3 +124,42 @@ def xgb_predict(timestamp, zone_id, temp, prcp, interest, zone_tourist_count=Non
         "busyness_score": round(score, 2),
     }
 
+
+# ----------- Batch prediction -----------
+def xgb_predict_batch(rows):
+    """
+    rows: list of dicts with the xgb_predict arguments (timestamp, zone_id, temp, prcp, interest).
+    Builds one feature frame and calls the model once; returns scores in input order.
+    """
+    reqs = []
+    for row in rows:
+        try:
+            dt = datetime.strptime(row["timestamp"], "%Y-%m-%d %H:%M:%S")
+        except Exception as e:
+            raise ValueError("timestamp must be 'YYYY-MM-DD HH:MM:SS'") from e
+
+        reqs.append(_build_payload({
+            "zone_id": row["zone_id"],
+            "hour": dt.hour,
+            "weekday": dt.weekday(),
+            "month": dt.month,
+            "day": dt.day,
+            "is_weekend": int(dt.weekday() >= 5),
+            "temp": row["temp"],
+            "prcp": row["prcp"],
+            "interest": row["interest"],
+            "zone_tourist_count": row.get("zone_tourist_count", 0),
+            "tourist_ratio": row.get("tourist_ratio", 0)
+        }))
+
+    if not reqs:
+        return []
+
+    X = _onehot_align(pd.DataFrame(reqs))
+    y_pred_log = xgb_model.predict(X)
+
+    scores = []
+    for row, y in zip(rows, y_pred_log):
+        score = float(np.expm1(y)) + zone_bias_dict.get(str(row["zone_id"]), 0)
+        scores.append(round(score, 2))
+    return scores
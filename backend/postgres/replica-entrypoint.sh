@@ -0,0 +1,18 @@
+#!/bin/bash
+# Starts a hot standby: on first start, clone the primary with pg_basebackup (-R writes
+# standby.signal and primary_conninfo), then run Postgres as usual.
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+    mkdir -p "$PGDATA"
+    chown postgres:postgres "$PGDATA"
+    chmod 700 "$PGDATA"
+    until PGPASSWORD="${REPLICATION_PASSWORD:-replicator}" gosu postgres pg_basebackup \
+            --host="${PRIMARY_HOST:-postgres}" --username="${REPLICATION_USER:-replicator}" \
+            --pgdata="$PGDATA" --wal-method=stream --write-recovery-conf --progress; do
+        echo "Waiting for the primary to accept replication connections..."
+        sleep 2
+    done
+fi
+
+exec docker-entrypoint.sh postgres -c hot_standby=on
@@ -0,0 +1,90 @@
+package com.group4.smarttrip.benchmarks;
+
+import com.group4.smarttrip.utils.GeoUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distance kernels over a batch of Manhattan points: exact haversine against the planar
+ * kernels, and a full sort by each comparator (the old ZoneService.getTop3NearestZones shape).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeoDistanceBenchmark {
+
+    private static final double LAT = 40.758;
+    private static final double LON = -73.9855;
+
+    @Param({"263", "2630"})
+    public int points;
+
+    private double[] lats;
+    private double[] lons;
+    private double[] out;
+    private Integer[] order;
+
+    @Setup
+    public void setup() {
+        SplittableRandom random = new SplittableRandom(42);
+        lats = new double[points];
+        lons = new double[points];
+        out = new double[points];
+        order = new Integer[points];
+        for (int i = 0; i < points; i++) {
+            lats[i] = random.nextDouble(40.70, 40.88);
+            lons[i] = random.nextDouble(-74.02, -73.91);
+            order[i] = i;
+        }
+    }
+
+    @Benchmark
+    public double[] haversineLoop() {
+        for (int i = 0; i < points; i++) {
+            out[i] = GeoUtils.haversineDistance(LAT, LON, lats[i], lons[i]);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] equirectangularLoop() {
+        double cosLat = GeoUtils.cosLatitude(LAT);
+        for (int i = 0; i < points; i++) {
+            out[i] = GeoUtils.equirectangularDistance(LAT, LON, lats[i], lons[i], cosLat);
+        }
+        return out;
+    }
+
+    @Benchmark
+    public double[] squaredBatch() {
+        GeoUtils.squaredPlanarDistances(LAT, LON, lats, lons, out);
+        return out;
+    }
+
+    @Benchmark
+    public int[] squaredBatchTop3() {
+        GeoUtils.squaredPlanarDistances(LAT, LON, lats, lons, out);
+        return GeoUtils.smallestIndices(out, 3);
+    }
+
+    @Benchmark
+    public Integer[] sortByHaversine() {
+        Integer[] sorted = order.clone();
+        Arrays.sort(sorted, Comparator.comparingDouble(i -> GeoUtils.haversineDistance(LAT, LON, lats[i], lons[i])));
+        return sorted;
+    }
+
+    @Benchmark
+    public Integer[] sortBySquaredComparator() {
+        Integer[] sorted = order.clone();
+        Arrays.sort(sorted, GeoUtils.byDistanceFrom(LAT, LON, i -> lats[i], i -> lons[i]));
+        return sorted;
+    }
+}
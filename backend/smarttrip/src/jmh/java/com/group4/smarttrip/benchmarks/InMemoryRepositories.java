@@ -0,0 +1,77 @@
+package com.group4.smarttrip.benchmarks;
+
+import com.group4.smarttrip.entities.Place;
+import com.group4.smarttrip.entities.Zone;
+import com.group4.smarttrip.repositories.PlaceRepository;
+import com.group4.smarttrip.repositories.ZoneRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Map-backed stand-ins for the JPA repositories. Only the finders the services call are
+ * implemented; anything else throws, so a benchmark never silently measures a stub.
+ * Finders return fresh mutable lists, like Spring Data does.
+ */
+public final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    public static PlaceRepository places(List<Place> places) {
+        Map<Long, Map<String, List<Place>>> byZoneAndCategory = new HashMap<>();
+        for (Place place : places) {
+            byZoneAndCategory
+                    .computeIfAbsent(place.getZone().getZoneId(), id -> new HashMap<>())
+                    .computeIfAbsent(place.getCategory(), category -> new ArrayList<>())
+                    .add(place);
+        }
+        Map<String, List<Place>> byCategory = places.stream()
+                .collect(Collectors.groupingBy(Place::getCategory));
+
+        return proxy(PlaceRepository.class, (method, args) -> switch (method) {
+            case "findByZone_ZoneIdAndCategory" -> new ArrayList<>(byZoneAndCategory
+                    .getOrDefault((Long) args[0], Map.of())
+                    .getOrDefault((String) args[1], List.of()));
+            case "findByZone_ZoneId" -> byZoneAndCategory.getOrDefault((Long) args[0], Map.of()).values().stream()
+                    .flatMap(List::stream)
+                    .collect(Collectors.toCollection(ArrayList::new));
+            case "findByCategory" -> new ArrayList<>(byCategory.getOrDefault((String) args[0], List.of()));
+            case "findAll" -> new ArrayList<>(places);
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    public static ZoneRepository zones(List<Zone> zones) {
+        Map<Long, Zone> byId = zones.stream().collect(Collectors.toMap(Zone::getZoneId, Function.identity()));
+        Map<String, List<Zone>> byName = zones.stream().collect(Collectors.groupingBy(Zone::getZoneName));
+
+        return proxy(ZoneRepository.class, (method, args) -> switch (method) {
+            case "findAll" -> new ArrayList<>(zones);
+            case "findById" -> Optional.ofNullable(byId.get((Long) args[0]));
+            case "findByZoneName" -> new ArrayList<>(byName.getOrDefault((String) args[0], List.of()));
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private interface Finder {
+        Object find(String method, Object[] args);
+    }
+
+    private static <R> R proxy(Class<R> type, Finder finder) {
+        Object instance = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) ->
+                switch (method.getName()) {
+                    case "toString" -> "InMemory" + type.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    default -> finder.find(method.getName(), args);
+                });
+        return type.cast(instance);
+    }
+}
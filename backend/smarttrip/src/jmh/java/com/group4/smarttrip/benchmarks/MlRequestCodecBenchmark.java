@@ -0,0 +1,76 @@
+package com.group4.smarttrip.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group4.smarttrip.dtos.WeatherDto;
+import com.group4.smarttrip.entities.Zone;
+import com.group4.smarttrip.services.MlPredictionCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of building and parsing one /predict/xgb exchange.
+ * Run with -prof gc to compare gc.alloc.rate.norm between the two paths.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MlRequestCodecBenchmark {
+
+    private static final byte[] RESPONSE = "{\"busyness_score\": 3125.47}".getBytes(StandardCharsets.UTF_8);
+
+    private ObjectMapper sharedMapper;
+    private MlPredictionCodec codec;
+    private Zone zone;
+    private WeatherDto weather;
+    private LocalDateTime time;
+
+    @Setup
+    public void setup() {
+        sharedMapper = new ObjectMapper();
+        codec = new MlPredictionCodec(sharedMapper);
+        zone = new Zone(14L, "Times Square", 40.758, -73.9855);
+        weather = new WeatherDto(24.3, 61, 3.6, 800, "Clear", 0.0, LocalDateTime.now());
+        time = LocalDateTime.of(2025, 7, 22, 10, 0);
+    }
+
+    /** Mirrors the previous predictBusyness: nested HashMaps, a fresh formatter and mapper per call. */
+    @Benchmark
+    public double legacyMapRoundTrip() throws IOException {
+        String formattedTime = time.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+
+        Map<String, Object> weatherMap = new HashMap<>();
+        weatherMap.put("temp", weather.getTemperature());
+        weatherMap.put("prcp", weather.getPrecipitation());
+        weatherMap.put("weather_id", weather.getWeatherId());
+
+        Map<String, Object> requestBody = new HashMap<>();
+        requestBody.put("timestamp", formattedTime);
+        requestBody.put("zone_id", zone.getZoneId());
+        requestBody.put("zone_name", zone.getZoneName());
+        requestBody.put("weather", weatherMap);
+
+        String debugJson = new ObjectMapper().writeValueAsString(requestBody);
+        byte[] wire = sharedMapper.writeValueAsBytes(requestBody);
+
+        Map<?, ?> response = sharedMapper.readValue(RESPONSE, Map.class);
+        String debugResponse = String.valueOf(response);
+        return ((Number) response.get("busyness_score")).doubleValue()
+                + debugJson.length() + wire.length + debugResponse.length();
+    }
+
+    @Benchmark
+    public double codecRoundTrip() throws IOException {
+        byte[] wire = codec.encode(codec.toRequest(zone, weather, time));
+        return codec.decodeScore(RESPONSE) + wire.length;
+    }
+}
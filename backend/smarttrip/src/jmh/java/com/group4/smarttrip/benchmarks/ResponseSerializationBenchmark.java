@@ -0,0 +1,125 @@
+package com.group4.smarttrip.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.group4.smarttrip.dtos.DestinationDto;
+import com.group4.smarttrip.dtos.LoginResponse;
+import com.group4.smarttrip.dtos.TripDetailsResponse;
+import com.group4.smarttrip.dtos.TripDto;
+import com.group4.smarttrip.dtos.UserDto;
+import com.group4.smarttrip.dtos.ZoneBusynessDto;
+import com.group4.smarttrip.services.BusynessSnapshotCodec;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialization time per endpoint body: trip details and login as the previous Map.of bodies and
+ * as the typed records, the all-zones busyness list as JSON and as the binary snapshot. The mapper
+ * is built like Boot's, with or without the Blackbird module. Payload sizes, raw and gzipped,
+ * are printed once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseSerializationBenchmark {
+
+    @Param({"default", "blackbird"})
+    public String mapper;
+
+    private ObjectMapper objectMapper;
+    private TripDetailsResponse tripDetails;
+    private Map<String, Object> tripDetailsMap;
+    private LoginResponse login;
+    private Map<String, Object> loginMap;
+    private List<ZoneBusynessDto> zones;
+
+    @Setup
+    public void setup() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        if (mapper.equals("blackbird")) {
+            objectMapper.registerModule(new BlackbirdModule());
+        }
+
+        LocalDateTime start = LocalDateTime.of(2025, 7, 22, 9, 0);
+        TripDto trip = new TripDto(42L, "A day in Midtown", 2, null, start, start.plusHours(8), start, start);
+        List<DestinationDto> destinations = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            DestinationDto destination = new DestinationDto();
+            destination.setTripId(42L);
+            destination.setDestinationId(1000L + i);
+            destination.setDestinationName("Destination " + i);
+            destination.setVisitTime(start.plusMinutes(i * 55L));
+            destinations.add(destination);
+        }
+        tripDetails = new TripDetailsResponse(trip, destinations);
+        tripDetailsMap = Map.of("basicInfo", trip, "destinations", destinations);
+
+        UserDto user = new UserDto(7L, "traveller", "traveller@example.com", start);
+        String accessToken = "eyJhbGciOiJIUzI1NiJ9." + "a".repeat(120) + ".signature";
+        login = new LoginResponse(accessToken, accessToken, user);
+        loginMap = Map.of("accessToken", accessToken, "refreshToken", accessToken, "user", user);
+
+        zones = new ArrayList<>();
+        for (long id = 1; id <= 263; id++) {
+            double score = (id * 577) % 8000;
+            zones.add(new ZoneBusynessDto(id, "Zone " + id, 40.7 + id * 0.001, -73.98, score,
+                    score <= 1512 ? "low" : score <= 5094 ? "med" : "high", start));
+        }
+
+        printSize("trip details", objectMapper.writeValueAsBytes(tripDetails));
+        printSize("login", objectMapper.writeValueAsBytes(login));
+        printSize("all-zones busyness (JSON)", objectMapper.writeValueAsBytes(zones));
+        printSize("all-zones busyness (snapshot)", BusynessSnapshotCodec.encode(zones, Instant.now()));
+    }
+
+    @Benchmark
+    public byte[] tripDetailsMap() throws IOException {
+        return objectMapper.writeValueAsBytes(tripDetailsMap);
+    }
+
+    @Benchmark
+    public byte[] tripDetailsRecord() throws IOException {
+        return objectMapper.writeValueAsBytes(tripDetails);
+    }
+
+    @Benchmark
+    public byte[] loginMap() throws IOException {
+        return objectMapper.writeValueAsBytes(loginMap);
+    }
+
+    @Benchmark
+    public byte[] loginRecord() throws IOException {
+        return objectMapper.writeValueAsBytes(login);
+    }
+
+    @Benchmark
+    public byte[] allZonesJson() throws IOException {
+        return objectMapper.writeValueAsBytes(zones);
+    }
+
+    @Benchmark
+    public byte[] allZonesSnapshot() {
+        return BusynessSnapshotCodec.encode(zones, Instant.now());
+    }
+
+    private static void printSize(String body, byte[] bytes) throws IOException {
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(gzipped)) {
+            out.write(bytes);
+        }
+        System.out.printf("%n%s: %d bytes, %d gzipped%n", body, bytes.length, gzipped.size());
+    }
+}
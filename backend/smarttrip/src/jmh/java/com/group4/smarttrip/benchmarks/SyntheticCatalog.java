@@ -0,0 +1,52 @@
+package com.group4.smarttrip.benchmarks;
+
+import com.group4.smarttrip.entities.Place;
+import com.group4.smarttrip.entities.Zone;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic zones and places spread over Manhattan, sized for benchmark parameters.
+ */
+public final class SyntheticCatalog {
+
+    public static final List<String> CATEGORIES = List.of(
+            "attraction", "museum", "park", "gallery", "viewpoint", "theatre", "toys", "books",
+            "clothes", "gift", "cafe", "restaurant", "bakery", "fast_food", "ice_cream", "spa"
+    );
+
+    private static final double MIN_LAT = 40.700;
+    private static final double MAX_LAT = 40.880;
+    private static final double MIN_LON = -74.020;
+    private static final double MAX_LON = -73.910;
+
+    private SyntheticCatalog() {
+    }
+
+    public static List<Zone> zones(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Zone> zones = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            zones.add(new Zone(i, "Zone " + i,
+                    random.nextDouble(MIN_LAT, MAX_LAT),
+                    random.nextDouble(MIN_LON, MAX_LON)));
+        }
+        return zones;
+    }
+
+    public static List<Place> places(int count, List<Zone> zones, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Place> places = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            Zone zone = zones.get(random.nextInt(zones.size()));
+            String category = CATEGORIES.get(random.nextInt(CATEGORIES.size()));
+            places.add(new Place((long) i, category + " " + i,
+                    (float) (zone.getCentralLat() + random.nextDouble(-0.005, 0.005)),
+                    (float) (zone.getCentralLon() + random.nextDouble(-0.005, 0.005)),
+                    zone, category, 0.5 + random.nextInt(5) * 0.5, 0));
+        }
+        return places;
+    }
+}
@@ -0,0 +1,56 @@
+package com.group4.smarttrip.benchmarks;
+
+import com.group4.smarttrip.entities.Zone;
+import com.group4.smarttrip.services.ZoneService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearest-zone lookups as used by ItineraryService (top 3) and the busyness endpoints.
+ * 263 matches the NYC taxi zone count.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZoneLookupBenchmark {
+
+    @Param({"263", "2630"})
+    public int zones;
+
+    private ZoneService zoneService;
+    private double[] lats;
+    private double[] lons;
+    private int next;
+
+    @Setup
+    public void setup() {
+        List<Zone> catalog = SyntheticCatalog.zones(zones, 42);
+        zoneService = new ZoneService(InMemoryRepositories.zones(catalog));
+
+        SplittableRandom random = new SplittableRandom(7);
+        lats = new double[1024];
+        lons = new double[1024];
+        for (int i = 0; i < lats.length; i++) {
+            lats[i] = random.nextDouble(40.70, 40.88);
+            lons[i] = random.nextDouble(-74.02, -73.91);
+        }
+    }
+
+    @Benchmark
+    public List<Zone> top3NearestZones() {
+        int i = next++ & 1023;
+        return zoneService.getTop3NearestZones(lats[i], lons[i]);
+    }
+
+    @Benchmark
+    public Zone nearestZoneWithin2Km() {
+        int i = next++ & 1023;
+        return zoneService.findNearestZone(lats[i], lons[i], 2.0);
+    }
+}
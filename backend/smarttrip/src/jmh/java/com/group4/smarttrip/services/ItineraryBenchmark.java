@@ -0,0 +1,140 @@
+package com.group4.smarttrip.services;
+
+import com.group4.smarttrip.benchmarks.InMemoryRepositories;
+import com.group4.smarttrip.benchmarks.SyntheticCatalog;
+import com.group4.smarttrip.dtos.UserPreferences;
+import com.group4.smarttrip.entities.Place;
+import com.group4.smarttrip.entities.Zone;
+import com.group4.smarttrip.utils.DistanceMatrix;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Itinerary generation against in-memory repositories, and the knapsack selection on its own.
+ * Lives in the services package because arrangeVisitingSequence and ItinerarySelector are
+ * package-private.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ItineraryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Catalog {
+
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int places;
+
+        ItineraryService itineraryService;
+        UserPreferences byZone;
+        UserPreferences noZone;
+
+        @Setup
+        public void setup() {
+            List<Zone> zones = SyntheticCatalog.zones(263, 42);
+            List<Place> catalog = SyntheticCatalog.places(places, zones, 42);
+            ZoneService zoneService = new ZoneService(InMemoryRepositories.zones(zones));
+            itineraryService = new ItineraryService(InMemoryRepositories.places(catalog),
+                    InMemoryRepositories.zones(zones), zoneService, ObservationRegistry.NOOP, DistanceMatrix.EMPTY,
+                    new ItinerarySkeletonCache(new NoOpCacheManager(), 5));
+
+            byZone = new UserPreferences("Bench", "Zone 14", 9, 8,
+                    List.of("museum", "park", "cafe", "gallery", "restaurant"));
+            noZone = new UserPreferences("Bench", null, 10, 6,
+                    List.of("attraction", "toys", "bakery"));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Stops {
+
+        @Param({"5", "10", "20", "50"})
+        public int stops;
+
+        ItineraryService itineraryService;
+        List<Place> selection;
+        DistanceMatrix.Cluster cluster;
+
+        @Setup
+        public void setup() throws IOException {
+            List<Zone> zones = SyntheticCatalog.zones(263, 42);
+            itineraryService = new ItineraryService(null, null, null, ObservationRegistry.NOOP, DistanceMatrix.EMPTY,
+                    new ItinerarySkeletonCache(new NoOpCacheManager(), 5));
+            selection = SyntheticCatalog.places(stops, zones, 11);
+
+            // A cluster of 2000 places that includes the selection
+            List<Place> clusterPlaces = new ArrayList<>(selection);
+            clusterPlaces.addAll(SyntheticCatalog.places(2000 - stops, zones, 12));
+            long[] ids = new long[clusterPlaces.size()];
+            double[] lats = new double[ids.length];
+            double[] lons = new double[ids.length];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = i < stops ? clusterPlaces.get(i).getPlaceId() : 10_000_000L + i;
+                lats[i] = clusterPlaces.get(i).getLat();
+                lons[i] = clusterPlaces.get(i).getLon();
+            }
+            Path file = Files.createTempFile("distances", ".bin");
+            file.toFile().deleteOnExit();
+            DistanceMatrix.write(file, List.of(new DistanceMatrix.ClusterPlaces(1, ids, lats, lons)), true);
+            cluster = DistanceMatrix.open(file).cluster(1);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Candidates {
+
+        // Three zones of up to three samples each, per category, for a full day
+        @Param({"3", "6", "10"})
+        public int categories;
+
+        List<List<Place>> buckets;
+        boolean[] singleVisit;
+
+        @Setup
+        public void setup() {
+            List<Zone> zones = SyntheticCatalog.zones(263, 42);
+            List<Place> places = SyntheticCatalog.places(categories * 9, zones, 13);
+            buckets = new ArrayList<>();
+            for (int i = 0; i < categories; i++) {
+                buckets.add(places.subList(i * 9, i * 9 + 9));
+            }
+            singleVisit = new boolean[categories];
+            singleVisit[0] = true;
+        }
+    }
+
+    @Benchmark
+    public List<Place> selectWithinNineHours(Candidates state) {
+        return ItinerarySelector.select(state.buckets, state.singleVisit, 9);
+    }
+
+    @Benchmark
+    public List<Place> generateForNamedZone(Catalog state) {
+        return state.itineraryService.generateItinerary(state.byZone);
+    }
+
+    @Benchmark
+    public List<Place> generateForDefaultZones(Catalog state) {
+        return state.itineraryService.generateItinerary(state.noZone);
+    }
+
+    @Benchmark
+    public List<Place> arrangeVisitingSequence(Stops state) {
+        return state.itineraryService.arrangeVisitingSequence(state.selection, 9);
+    }
+
+    @Benchmark
+    public List<Place> arrangeWithDistanceMatrix(Stops state) {
+        return state.itineraryService.arrangeVisitingSequence(state.selection, 9, state.cluster);
+    }
+}
@@ -0,0 +1,108 @@
+package com.group4.smarttrip.services;
+
+import com.group4.smarttrip.SmarttripApplication;
+import com.group4.smarttrip.dtos.CreateDestinationRequest;
+import com.group4.smarttrip.entities.Trip;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trip creation (one trip plus its destinations, as SmartItineraryService stores them) with
+ * and without the production-db profile. Runs against a Testcontainers Postgres, or the
+ * database given with -Dbench.jdbc-url (plus bench.jdbc-user and bench.jdbc-password).
+ * Threads exceed the default pool so that pool sizing shows up in the numbers.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(32)
+@Fork(1)
+public class TripCreationBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Application {
+
+        @Param({"default", "production-db"})
+        public String profile;
+
+        @Param({"8"})
+        public int destinations;
+
+        PostgreSQLContainer<?> postgres;
+        ConfigurableApplicationContext app;
+        TripService tripService;
+        DestinationService destinationService;
+
+        @Setup(Level.Trial)
+        public void start() {
+            String jdbcUrl = System.getProperty("bench.jdbc-url");
+            String jdbcUser = System.getProperty("bench.jdbc-user", "postgres");
+            String jdbcPassword = System.getProperty("bench.jdbc-password", "postgres");
+            if (jdbcUrl == null) {
+                postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+                postgres.start();
+                jdbcUrl = postgres.getJdbcUrl();
+                jdbcUser = postgres.getUsername();
+                jdbcPassword = postgres.getPassword();
+            }
+
+            Map<String, Object> properties = new HashMap<>();
+            properties.put("server.port", 0);
+            properties.put("management.server.port", 0);
+            properties.put("spring.datasource.url", jdbcUrl);
+            properties.put("spring.datasource.username", jdbcUser);
+            properties.put("spring.datasource.password", jdbcPassword);
+            properties.put("jwt.secret", "benchmark-secret-benchmark-secret-benchmark-secret");
+            properties.put("ml.service.url", "http://localhost:1");
+            properties.put("open-weather.api.key", "unused");
+            properties.put("gemini.api.key", "unused");
+            properties.put("spring.security.oauth2.client.registration.google.client-id", "unused");
+            properties.put("spring.security.oauth2.client.registration.google.client-secret", "unused");
+            properties.put("logging.level.com.group4.smarttrip", "WARN");
+
+            SpringApplicationBuilder builder = new SpringApplicationBuilder(SmarttripApplication.class)
+                    .properties(properties);
+            if (!profile.equals("default")) {
+                builder.profiles(profile);
+            }
+            app = builder.run();
+            tripService = app.getBean(TripService.class);
+            destinationService = app.getBean(DestinationService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            app.close();
+            if (postgres != null) {
+                postgres.stop();
+            }
+        }
+    }
+
+    @Benchmark
+    public int createTrip(Application application) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0);
+        Trip trip = new Trip();
+        trip.setTripName("Benchmark trip");
+        trip.setStartDateTime(start);
+        trip.setEndDateTime(start.plusHours(8));
+        Long tripId = application.tripService.createTrip(trip, 1L).getTripId();
+
+        List<CreateDestinationRequest> requests = new ArrayList<>(application.destinations);
+        for (int i = 0; i < application.destinations; i++) {
+            requests.add(new CreateDestinationRequest(tripId, "Stop " + i,
+                    40.75 + i * 0.001, -73.98 - i * 0.001, start.plusMinutes(60L * i)));
+        }
+        return application.destinationService.createDestinations(requests).size();
+    }
+}
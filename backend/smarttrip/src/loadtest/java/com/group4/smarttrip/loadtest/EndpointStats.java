@@ -0,0 +1,58 @@
+package com.group4.smarttrip.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and error counts, reset after warm-up.
+ */
+public final class EndpointStats {
+
+    private static final long MAX_TRACKED_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile long startedAt = System.nanoTime();
+
+    private static final class Entry {
+        final Histogram latency = new ConcurrentHistogram(MAX_TRACKED_NANOS, 3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    public void record(String endpoint, long nanos, boolean ok) {
+        Entry entry = entries.computeIfAbsent(endpoint, key -> new Entry());
+        entry.latency.recordValue(Math.min(nanos, MAX_TRACKED_NANOS));
+        if (!ok) {
+            entry.errors.increment();
+        }
+    }
+
+    public void reset() {
+        entries.clear();
+        startedAt = System.nanoTime();
+    }
+
+    public void print(PrintStream out) {
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        out.printf("%-20s %9s %8s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, Entry> e : new TreeMap<>(entries).entrySet()) {
+            Histogram latency = e.getValue().latency;
+            long count = latency.getTotalCount();
+            total += count;
+            out.printf("%-20s %9d %8d %10.1f %10.2f %10.2f %10.2f%n",
+                    e.getKey(), count, e.getValue().errors.sum(), count / seconds,
+                    latency.getValueAtPercentile(50) / 1e6,
+                    latency.getValueAtPercentile(99) / 1e6,
+                    latency.getMaxValue() / 1e6);
+        }
+        out.printf("%-20s %9d %8s %10.1f%n", "total", total, "", total / seconds);
+    }
+}
@@ -0,0 +1,180 @@
+package com.group4.smarttrip.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group4.smarttrip.SmarttripApplication;
+import com.group4.smarttrip.entities.Place;
+import com.group4.smarttrip.entities.Zone;
+import com.group4.smarttrip.repositories.PlaceRepository;
+import com.group4.smarttrip.repositories.ZoneRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the API against local stubs and a throwaway Postgres, drives it with {@link Workload}
+ * and prints throughput and latency percentiles per endpoint. Needs nothing but Docker.
+ *
+ * Options (all optional):
+ *   --users=50 --warmup=15 --duration=60        virtual users and seconds
+ *   --places=5000                               synthetic places seeded across the zones
+ *   --ml=median=40,p99=250,errors=0.01          stub profile for /predict/xgb
+ *   --weather=median=80,p99=400,errors=0        stub profile for OpenWeather
+ *   --gemini=median=1500,p99=6000,errors=0.02   stub profile for Gemini
+ *   --jdbc-url=jdbc:postgresql://...            use an existing database instead of a container
+ *   --jdbc-user=postgres --jdbc-password=...
+ */
+public final class LoadTestRunner {
+
+    private static final List<String> ZONE_NAMES = List.of(
+            "One World Trade Center", "Wall Street", "Statue of Liberty Ferry", "Battery Park", "Canal Street",
+            "Doyers Street", "Hudson River Park Pier 25", "Spring Street", "Washington Square Park",
+            "Bleecker Street", "The High Line", "Chelsea Market", "Flatiron Building", "Union Square Park",
+            "Times Square", "MoMA", "Rockefeller Center", "Grand Central Terminal", "Empire State Building",
+            "Koreatown 32nd Street", "American Museum of Natural History", "Lincoln Center",
+            "Metropolitan Museum of Art", "Guggenheim Museum", "Bethesda Fountain", "Great Lawn",
+            "Apollo Theater", "Marcus Garvey Park", "The Cloisters", "Fort Tryon Park", "Roosevelt Island Tram",
+            "Four Freedoms Park"
+    );
+
+    private static final List<String> CATEGORIES = List.of(
+            "museum", "park", "gallery", "attraction", "viewpoint", "books", "toys", "gift",
+            "cafe", "restaurant", "bakery", "ice_cream"
+    );
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        int users = Integer.parseInt(options.getOrDefault("users", "50"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "15"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        int places = Integer.parseInt(options.getOrDefault("places", "5000"));
+        StubProfile ml = StubProfile.parse(options.getOrDefault("ml", "median=40,p99=250,errors=0.01"));
+        StubProfile weather = StubProfile.parse(options.getOrDefault("weather", "median=80,p99=400,errors=0"));
+        StubProfile gemini = StubProfile.parse(options.getOrDefault("gemini", "median=1500,p99=6000,errors=0.02"));
+
+        PostgreSQLContainer<?> postgres = null;
+        String jdbcUrl = options.get("jdbc-url");
+        String jdbcUser = options.getOrDefault("jdbc-user", "postgres");
+        String jdbcPassword = options.getOrDefault("jdbc-password", "postgres");
+        if (jdbcUrl == null) {
+            postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+            postgres.start();
+            jdbcUrl = postgres.getJdbcUrl();
+            jdbcUser = postgres.getUsername();
+            jdbcPassword = postgres.getPassword();
+        }
+
+        try (StubServers stubs = new StubServers(ml, weather, gemini);
+             ConfigurableApplicationContext app = startApplication(stubs, jdbcUrl, jdbcUser, jdbcPassword)) {
+            seed(app, places);
+
+            String baseUrl = "http://127.0.0.1:" + app.getEnvironment().getProperty("local.server.port");
+            System.out.printf("SmartTrip at %s, %d users, %ds warm-up, %ds measured%n",
+                    baseUrl, users, warmupSeconds, durationSeconds);
+            System.out.printf("ml: %s | weather: %s | gemini: %s%n", ml, weather, gemini);
+
+            EndpointStats stats = new EndpointStats();
+            HttpClient client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+            Workload workload = new Workload(client, app.getBean(ObjectMapper.class), baseUrl, stats);
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds + durationSeconds);
+            ExecutorService userThreads = Executors.newVirtualThreadPerTaskExecutor();
+            for (int user = 0; user < users; user++) {
+                int id = user;
+                userThreads.submit(() -> workload.run(id, deadline));
+            }
+
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            stats.reset();
+            userThreads.shutdown();
+            userThreads.awaitTermination(durationSeconds + 120L, TimeUnit.SECONDS);
+
+            System.out.println();
+            stats.print(System.out);
+        } finally {
+            if (postgres != null) {
+                postgres.stop();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startApplication(StubServers stubs, String jdbcUrl,
+                                                                   String jdbcUser, String jdbcPassword) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("management.server.port", 0);
+        properties.put("spring.datasource.url", jdbcUrl);
+        properties.put("spring.datasource.username", jdbcUser);
+        properties.put("spring.datasource.password", jdbcPassword);
+        properties.put("jwt.secret", "load-test-secret-load-test-secret-load-test-secret");
+        properties.put("ml.service.url", stubs.mlUrl());
+        properties.put("open-weather.api.url", stubs.weatherUrl());
+        properties.put("open-weather.api.key", "stub");
+        properties.put("gemini.api.key", "stub");
+        properties.put("gemini.api.base-url", stubs.geminiUrl());
+        properties.put("spring.security.oauth2.client.registration.google.client-id", "stub");
+        properties.put("spring.security.oauth2.client.registration.google.client-secret", "stub");
+        // Every virtual user comes from one address
+        properties.put("smarttrip.rate-limit.enabled", false);
+        properties.put("logging.level.com.group4.smarttrip", "WARN");
+
+        return new SpringApplicationBuilder(SmarttripApplication.class)
+                .properties(properties)
+                .run();
+    }
+
+    private static void seed(ConfigurableApplicationContext app, int placeCount) {
+        ZoneRepository zoneRepository = app.getBean(ZoneRepository.class);
+        PlaceRepository placeRepository = app.getBean(PlaceRepository.class);
+        if (zoneRepository.count() > 0) {
+            return;
+        }
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<Zone> zones = new ArrayList<>();
+        for (int i = 0; i < ZONE_NAMES.size(); i++) {
+            zones.add(new Zone(i + 1, ZONE_NAMES.get(i),
+                    random.nextDouble(40.70, 40.86), random.nextDouble(-74.01, -73.93)));
+        }
+        zoneRepository.saveAll(zones);
+
+        List<Place> places = new ArrayList<>(placeCount);
+        for (int i = 1; i <= placeCount; i++) {
+            Zone zone = zones.get(random.nextInt(zones.size()));
+            String category = CATEGORIES.get(random.nextInt(CATEGORIES.size()));
+            places.add(new Place((long) i, category + " " + i,
+                    (float) (zone.getCentralLat() + random.nextDouble(-0.004, 0.004)),
+                    (float) (zone.getCentralLon() + random.nextDouble(-0.004, 0.004)),
+                    zone, category, 0.5 + random.nextInt(4) * 0.5, 0));
+        }
+        placeRepository.saveAll(places);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int split = arg.indexOf('=');
+            options.put(arg.substring(2, split), arg.substring(split + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,61 @@
+package com.group4.smarttrip.loadtest;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Latency and failure behaviour of a stub downstream. Latency is log-normal, fitted so that
+ * the median and p99 match the configured values, which is close to what real HTTP
+ * dependencies look like.
+ *
+ * Parsed from "median=40,p99=250,errors=0.01" (milliseconds and a 0-1 rate).
+ */
+public record StubProfile(double medianMillis, double p99Millis, double errorRate) {
+
+    private static final double Z_99 = 2.326;
+
+    public StubProfile {
+        if (medianMillis < 0 || p99Millis < medianMillis) {
+            throw new IllegalArgumentException("Expected 0 <= median <= p99, got " + medianMillis + "/" + p99Millis);
+        }
+        if (errorRate < 0 || errorRate > 1) {
+            throw new IllegalArgumentException("errors must be between 0 and 1, got " + errorRate);
+        }
+    }
+
+    public static StubProfile parse(String spec) {
+        double median = 0;
+        double p99 = -1;
+        double errors = 0;
+        for (String part : spec.split(",")) {
+            String[] keyValue = part.trim().split("=", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Invalid stub profile entry: " + part);
+            }
+            double value = Double.parseDouble(keyValue[1].trim());
+            switch (keyValue[0].trim()) {
+                case "median" -> median = value;
+                case "p99" -> p99 = value;
+                case "errors" -> errors = value;
+                default -> throw new IllegalArgumentException("Unknown stub profile key: " + keyValue[0]);
+            }
+        }
+        return new StubProfile(median, p99 < 0 ? median : p99, errors);
+    }
+
+    public long sampleDelayMillis() {
+        if (medianMillis == 0) {
+            return 0;
+        }
+        double sigma = Math.log(p99Millis / medianMillis) / Z_99;
+        return Math.round(medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+    }
+
+    public boolean sampleFailure() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    @Override
+    public String toString() {
+        return "median=" + medianMillis + "ms, p99=" + p99Millis + "ms, errors=" + errorRate;
+    }
+}
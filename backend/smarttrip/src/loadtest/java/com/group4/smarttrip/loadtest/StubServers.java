@@ -0,0 +1,138 @@
+package com.group4.smarttrip.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Local stand-ins for the Flask model (/predict/xgb and /predict/xgb/batch), the OpenWeather
+ * One Call API and the Gemini generateContent endpoint. Each runs on its own loopback port with
+ * its own profile.
+ */
+public final class StubServers implements AutoCloseable {
+
+    private static final String GEMINI_TEXT = """
+            ```json
+            {"tripName": "Load Test Day", "zoneName": "Times Square", "startingTime": 10, "duration": 6,
+             "placeCategory": ["museum", "park", "cafe", "gallery"]}
+            ```""";
+
+    private final List<HttpServer> servers = new ArrayList<>();
+    private final String mlUrl;
+    private final String weatherUrl;
+    private final String geminiUrl;
+
+    public StubServers(StubProfile ml, StubProfile weather, StubProfile gemini) throws IOException {
+        mlUrl = start("/predict/xgb", ml, exchange -> {
+            if (exchange.getRequestURI().getPath().endsWith("/batch")) {
+                String body;
+                try (InputStream in = exchange.getRequestBody()) {
+                    body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                // One score per prediction in the request
+                StringJoiner scores = new StringJoiner(", ", "{\"busyness_scores\": [", "]}");
+                for (int i = body.indexOf("\"zone_id\""); i >= 0; i = body.indexOf("\"zone_id\"", i + 1)) {
+                    scores.add(String.valueOf(ThreadLocalRandom.current().nextDouble(200, 8000)));
+                }
+                return scores.toString();
+            }
+            drain(exchange);
+            double score = ThreadLocalRandom.current().nextDouble(200, 8000);
+            return "{\"busyness_score\": " + score + "}";
+        });
+        weatherUrl = start("/data/3.0/onecall", weather, exchange -> {
+            long now = Instant.now().getEpochSecond();
+            String point = "\"dt\": " + now + ", \"temp\": 22.5, \"humidity\": 60, \"wind_speed\": 3.1, "
+                    + "\"weather\": [{\"id\": 800, \"main\": \"Clear\"}]";
+            return exchange.getRequestURI().getPath().endsWith("/timemachine")
+                    ? "{\"data\": [{" + point + "}]}"
+                    : "{\"current\": {" + point + "}}";
+        }) + "/data/3.0/onecall";
+        geminiUrl = start("/", gemini, exchange -> {
+            drain(exchange);
+            String text = GEMINI_TEXT.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+            return "{\"candidates\": [{\"content\": {\"role\": \"model\", \"parts\": [{\"text\": \"" + text + "\"}]},"
+                    + " \"finishReason\": \"STOP\"}]}";
+        });
+    }
+
+    public String mlUrl() {
+        return mlUrl;
+    }
+
+    public String weatherUrl() {
+        return weatherUrl;
+    }
+
+    public String geminiUrl() {
+        return geminiUrl;
+    }
+
+    @Override
+    public void close() {
+        servers.forEach(server -> server.stop(0));
+    }
+
+    private interface Responder {
+        String respond(HttpExchange exchange) throws IOException;
+    }
+
+    private String start(String path, StubProfile profile, Responder responder) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext(path, handler(profile, responder));
+        server.start();
+        servers.add(server);
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static HttpHandler handler(StubProfile profile, Responder responder) {
+        return exchange -> {
+            try (exchange) {
+                sleep(profile.sampleDelayMillis());
+                if (profile.sampleFailure()) {
+                    drain(exchange);
+                    byte[] body = "{\"error\": \"injected failure\"}".getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(500, body.length);
+                    exchange.getResponseBody().write(body);
+                    return;
+                }
+                byte[] body = responder.respond(exchange).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        };
+    }
+
+    private static void drain(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
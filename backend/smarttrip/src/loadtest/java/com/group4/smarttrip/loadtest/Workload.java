@@ -0,0 +1,189 @@
+package com.group4.smarttrip.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Scripted session for one virtual user: log in once, then loop over a weighted mix of
+ * busyness, trip CRUD, login and smart itinerary requests until the deadline.
+ * Weights are relative; each user keeps its own trips so updates and deletes hit real rows.
+ */
+public final class Workload {
+
+    private enum Step {
+        BUSYNESS_MAP("busyness-map", 5),
+        BUSYNESS_POINT("busyness-point", 30),
+        LOGIN("login", 5),
+        TRIP_LIST("trip-list", 10),
+        TRIP_CREATE("trip-create", 15),
+        TRIP_VIEW("trip-view", 20),
+        TRIP_UPDATE("trip-update", 5),
+        TRIP_DELETE("trip-delete", 5),
+        SMART_ITINERARY("smart-itinerary", 5);
+
+        final String endpoint;
+        final int weight;
+
+        Step(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+    }
+
+    private static final Step[] STEPS = Step.values();
+    private static final int TOTAL_WEIGHT = Arrays.stream(STEPS).mapToInt(step -> step.weight).sum();
+
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final EndpointStats stats;
+
+    public Workload(HttpClient client, ObjectMapper objectMapper, String baseUrl, EndpointStats stats) {
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+    }
+
+    public void run(int user, long deadlineNanos) {
+        String username = "loadtest" + user;
+        String password = "password" + user;
+        List<Long> trips = new ArrayList<>();
+        try {
+            send("signup", post("/api/signup", "{\"username\": \"" + username + "\", \"email\": \""
+                    + username + "@example.com\", \"password\": \"" + password + "\"}", null));
+            String token = login(username, password);
+
+            while (System.nanoTime() < deadlineNanos) {
+                switch (pick()) {
+                    case BUSYNESS_MAP -> send(Step.BUSYNESS_MAP.endpoint, get("/api/busyness", token));
+                    case BUSYNESS_POINT -> send(Step.BUSYNESS_POINT.endpoint, get(randomPointQuery(), token));
+                    case LOGIN -> token = login(username, password);
+                    case TRIP_LIST -> send(Step.TRIP_LIST.endpoint, get("/api/trips?page=1", token));
+                    case TRIP_CREATE -> {
+                        JsonNode trip = send(Step.TRIP_CREATE.endpoint, post("/api/trips", tripJson("Trip"), token));
+                        if (trip != null && trip.hasNonNull("tripId")) {
+                            trips.add(trip.get("tripId").asLong());
+                        }
+                    }
+                    case TRIP_VIEW -> {
+                        if (!trips.isEmpty()) {
+                            send(Step.TRIP_VIEW.endpoint, get("/api/trips/" + randomOf(trips), token));
+                        }
+                    }
+                    case TRIP_UPDATE -> {
+                        if (!trips.isEmpty()) {
+                            send(Step.TRIP_UPDATE.endpoint,
+                                    put("/api/trips/" + randomOf(trips), tripJson("Renamed"), token));
+                        }
+                    }
+                    case TRIP_DELETE -> {
+                        if (!trips.isEmpty()) {
+                            Long tripId = trips.remove(ThreadLocalRandom.current().nextInt(trips.size()));
+                            send(Step.TRIP_DELETE.endpoint, delete("/api/trips/" + tripId, token));
+                        }
+                    }
+                    case SMART_ITINERARY -> {
+                        JsonNode trip = send(Step.SMART_ITINERARY.endpoint, post("/api/smart-itinerary",
+                                "A relaxed afternoon of museums and coffee near Times Square", token));
+                        if (trip != null && trip.path("basicInfo").hasNonNull("tripId")) {
+                            trips.add(trip.path("basicInfo").get("tripId").asLong());
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String login(String username, String password) throws InterruptedException {
+        JsonNode response = send(Step.LOGIN.endpoint, post("/api/login",
+                "{\"identifier\": \"" + username + "\", \"password\": \"" + password + "\"}", null));
+        return response == null ? null : response.path("accessToken").asText(null);
+    }
+
+    private JsonNode send(String endpoint, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            boolean ok = response.statusCode() < 400;
+            stats.record(endpoint, System.nanoTime() - start, ok);
+            byte[] body = response.body();
+            return ok && body.length > 0 && body[0] == '{' ? objectMapper.readTree(body) : null;
+        } catch (IOException e) {
+            stats.record(endpoint, System.nanoTime() - start, false);
+            return null;
+        }
+    }
+
+    private static Step pick() {
+        int roll = ThreadLocalRandom.current().nextInt(TOTAL_WEIGHT);
+        for (Step step : STEPS) {
+            roll -= step.weight;
+            if (roll < 0) {
+                return step;
+            }
+        }
+        return Step.BUSYNESS_POINT;
+    }
+
+    private static String randomPointQuery() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("/api/busyness?lat=%.5f&lon=%.5f",
+                random.nextDouble(40.70, 40.86), random.nextDouble(-74.01, -73.93));
+    }
+
+    private static Long randomOf(List<Long> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+
+    private static String tripJson(String name) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+        return "{\"tripName\": \"" + name + "\", \"startDateTime\": \"" + start
+                + "\", \"endDateTime\": \"" + start.plusHours(8) + "\", \"numTravellers\": 2}";
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest delete(String path, String token) {
+        return request(path, token).DELETE().build();
+    }
+
+    private HttpRequest post(String path, String json, String token) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest put(String path, String json, String token) {
+        return request(path, token)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+}
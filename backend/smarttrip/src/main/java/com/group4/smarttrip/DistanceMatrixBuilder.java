@@ -0,0 +1,85 @@
+package com.group4.smarttrip;
+
+import com.group4.smarttrip.entities.Place;
+import com.group4.smarttrip.repositories.PlaceRepository;
+import com.group4.smarttrip.services.ItineraryService;
+import com.group4.smarttrip.utils.DistanceMatrix;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline build of the distance matrix file (smarttrip.distance-matrix.path) from the place
+ * catalog. Starts the application without a web server, writes the file and exits:
+ * <pre>
+ * java -cp smarttrip.jar -Dloader.main=com.group4.smarttrip.DistanceMatrixBuilder \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher
+ * </pre>
+ */
+public class DistanceMatrixBuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistanceMatrixBuilder.class);
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SmarttripApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+        int exitCode = build(context.getEnvironment(), context.getBean(ItineraryService.class),
+                context.getBean(PlaceRepository.class));
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    static int build(Environment environment, ItineraryService itineraryService, PlaceRepository placeRepository) {
+        String location = environment.getProperty("smarttrip.distance-matrix.path", "");
+        if (location.isBlank()) {
+            logger.error("Set smarttrip.distance-matrix.path (DISTANCE_MATRIX_PATH) to the file to write");
+            return 2;
+        }
+        boolean halfPrecision = !"float32".equals(environment.getProperty("smarttrip.distance-matrix.precision"));
+        int maxPlaces = environment.getProperty("smarttrip.distance-matrix.max-places", Integer.class, 4096);
+
+        Map<Long, List<Place>> placesByZone = new LinkedHashMap<>();
+        List<DistanceMatrix.ClusterPlaces> clusters = new ArrayList<>();
+        itineraryService.zoneClusters().forEach((key, zoneIds) -> {
+            List<Place> places = new ArrayList<>();
+            for (Long zoneId : zoneIds) {
+                places.addAll(placesByZone.computeIfAbsent(zoneId, placeRepository::findByZone_ZoneId));
+            }
+            if (places.size() > maxPlaces) {
+                logger.warn("Skipping cluster {}: {} places is over the limit of {}", key, places.size(), maxPlaces);
+                return;
+            }
+            long[] ids = new long[places.size()];
+            double[] lats = new double[places.size()];
+            double[] lons = new double[places.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = places.get(i).getPlaceId();
+                lats[i] = places.get(i).getLat();
+                lons[i] = places.get(i).getLon();
+            }
+            clusters.add(new DistanceMatrix.ClusterPlaces(key, ids, lats, lons));
+        });
+
+        Path path = Path.of(location);
+        try {
+            DistanceMatrix.write(path, clusters, halfPrecision);
+            logger.info("Wrote {} clusters to {} ({} MB)", clusters.size(), path, Files.size(path) >> 20);
+            return 0;
+        } catch (IOException e) {
+            logger.error("Could not write distance matrix {}", path, e);
+            return 1;
+        }
+    }
+}
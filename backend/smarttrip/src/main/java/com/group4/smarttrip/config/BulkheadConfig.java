@@ -0,0 +1,63 @@
+package com.group4.smarttrip.config;
+
+import com.group4.smarttrip.utils.Bulkhead;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One bulkhead per slow downstream (Gemini, the ML service, OpenWeather), so a slowdown in one
+ * of them ties up a bounded number of request threads and trip CRUD, which only needs Postgres,
+ * keeps its latency. Sizes are under smarttrip.bulkhead.&lt;name&gt;.*.
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Bean
+    public Bulkhead geminiBulkhead(Environment environment) {
+        return bulkhead(environment, "gemini", 8, 100);
+    }
+
+    @Bean
+    public Bulkhead mlBulkhead(Environment environment) {
+        return bulkhead(environment, "ml", 32, 250);
+    }
+
+    @Bean
+    public Bulkhead weatherBulkhead(Environment environment) {
+        return bulkhead(environment, "weather", 8, 500);
+    }
+
+    @Bean
+    public MeterBinder bulkheadMetrics(ObjectProvider<Bulkhead> bulkheads) {
+        return registry -> bulkheads.orderedStream().forEach(bulkhead -> {
+            FunctionTimer.builder("smarttrip.bulkhead.queue", bulkhead,
+                            Bulkhead::getAcquired, Bulkhead::getQueueTimeNanos, TimeUnit.NANOSECONDS)
+                    .description("Time calls waited for a slot before reaching the downstream")
+                    .tag("downstream", bulkhead.getName())
+                    .register(registry);
+            FunctionCounter.builder("smarttrip.bulkhead.rejected", bulkhead, Bulkhead::getRejected)
+                    .description("Calls refused because every slot stayed busy for the maximum wait")
+                    .tag("downstream", bulkhead.getName())
+                    .register(registry);
+            Gauge.builder("smarttrip.bulkhead.active", bulkhead, Bulkhead::getActive)
+                    .tag("downstream", bulkhead.getName())
+                    .register(registry);
+        });
+    }
+
+    private static Bulkhead bulkhead(Environment environment, String name, int maxConcurrent, long maxWaitMillis) {
+        String prefix = "smarttrip.bulkhead." + name + ".";
+        int max = environment.getProperty(prefix + "max-concurrent", Integer.class, maxConcurrent);
+        return new Bulkhead(name, max,
+                environment.getProperty(prefix + "max-background", Integer.class, Math.max(1, max / 2)),
+                environment.getProperty(prefix + "max-wait-ms", Long.class, maxWaitMillis));
+    }
+}
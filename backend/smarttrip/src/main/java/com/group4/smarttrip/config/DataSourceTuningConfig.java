@@ -0,0 +1,59 @@
+package com.group4.smarttrip.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Sizes the Hikari pool from the threads that can hold a connection at the same time, when
+ * smarttrip.datasource.pool-size=auto (set by the production-db profile). The property is read
+ * at runtime so the decision is not frozen into an AOT build.
+ */
+@Configuration
+public class DataSourceTuningConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceTuningConfig.class);
+
+    @Bean
+    public static BeanPostProcessor hikariPoolSizePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                // Runs after the spring.datasource.hikari.* binding and before the pool is started
+                String poolSize = environment.getProperty("smarttrip.datasource.pool-size", "");
+                if (!(bean instanceof HikariDataSource hikari) || poolSize.isBlank()) {
+                    return bean;
+                }
+                int size = poolSize.equals("auto")
+                        ? derivePoolSize(Runtime.getRuntime().availableProcessors(),
+                                environment.getProperty("server.tomcat.threads.max", Integer.class, 200),
+                                environment.getProperty("spring.task.execution.pool.core-size", Integer.class, 8),
+                                environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false))
+                        : Integer.parseInt(poolSize);
+                hikari.setMaximumPoolSize(size);
+                // Hikari keeps a fixed-size pool unless spring.datasource.hikari.minimum-idle was set
+                if (hikari.getMinimumIdle() > size) {
+                    hikari.setMinimumIdle(size);
+                }
+                logger.info("Database pool size set to {} ({}), minimum idle {}", size, poolSize,
+                        hikari.getMinimumIdle() < 0 ? size : hikari.getMinimumIdle());
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Postgres throughput peaks at roughly two connections per core plus one; more only adds
+     * contention. The pool never needs more connections than there are threads to use them.
+     * Virtual threads have no such bound, so only the core-based limit applies.
+     */
+    static int derivePoolSize(int cores, int requestThreads, int taskThreads, boolean virtualThreads) {
+        int bestThroughput = cores * 2 + 1;
+        int size = virtualThreads ? bestThroughput : Math.min(bestThroughput, requestThreads + taskThreads);
+        return Math.max(2, size);
+    }
+}
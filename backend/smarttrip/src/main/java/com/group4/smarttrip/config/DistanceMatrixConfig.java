@@ -0,0 +1,46 @@
+package com.group4.smarttrip.config;
+
+import com.group4.smarttrip.utils.DistanceMatrix;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Memory-mapped walking distances between the places of each itinerary zone cluster
+ * (smarttrip.distance-matrix.path). The file is built offline from the place catalog by
+ * {@link com.group4.smarttrip.DistanceMatrixBuilder}. Without a file, or for places added since
+ * it was built, routing computes grid distances itself.
+ */
+@Configuration
+public class DistanceMatrixConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistanceMatrixConfig.class);
+
+    @Bean
+    public DistanceMatrix distanceMatrix(Environment environment) {
+        String location = environment.getProperty("smarttrip.distance-matrix.path", "");
+        if (location.isBlank()) {
+            return DistanceMatrix.EMPTY;
+        }
+        Path path = Path.of(location);
+        if (!Files.isReadable(path)) {
+            logger.warn("Distance matrix {} not found; itineraries use on-the-fly grid distances", path);
+            return DistanceMatrix.EMPTY;
+        }
+        try {
+            DistanceMatrix matrix = DistanceMatrix.open(path);
+            logger.info("Mapped distance matrix {}: {} clusters, {} MB", path, matrix.clusterCount(),
+                    Files.size(path) >> 20);
+            return matrix;
+        } catch (IOException e) {
+            logger.warn("Could not map distance matrix {}; itineraries use on-the-fly grid distances", path, e);
+            return DistanceMatrix.EMPTY;
+        }
+    }
+}
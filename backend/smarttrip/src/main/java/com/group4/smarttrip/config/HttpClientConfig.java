@@ -0,0 +1,19 @@
+package com.group4.smarttrip.config;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * Shared client for the ML service and OpenWeather. Built from Boot's RestTemplateBuilder so
+     * outbound calls are observed (http.client.requests) and carry the W3C traceparent header.
+     */
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+        return builder.build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.group4.smarttrip.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Registered on Boot's ObjectMapper (and so on MVC responses, the ML codec and Gemini parsing):
+     * property access goes through generated lambdas instead of reflection.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
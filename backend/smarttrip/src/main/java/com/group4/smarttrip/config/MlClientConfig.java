@@ -0,0 +1,69 @@
+package com.group4.smarttrip.config;
+
+import com.group4.smarttrip.utils.RequestHedger;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class MlClientConfig {
+
+    // Kept out of the context so it does not replace Boot's applicationTaskExecutor
+    private final ExecutorService hedgingExecutor = newHedgingExecutor();
+
+    @PreDestroy
+    public void shutdownHedgingExecutor() {
+        hedgingExecutor.shutdown();
+    }
+
+    /**
+     * Hedging for /predict/xgb is opt-in. When enabled, a duplicate request is sent once the first
+     * one is slower than the configured percentile of recent latencies, at most max-rate of the time.
+     */
+    @Bean
+    public RequestHedger mlRequestHedger(
+            @Value("${ml.hedging.enabled:false}") boolean enabled,
+            @Value("${ml.hedging.delay-percentile:0.95}") double delayPercentile,
+            @Value("${ml.hedging.min-delay-ms:50}") long minDelayMillis,
+            @Value("${ml.hedging.max-delay-ms:2000}") long maxDelayMillis,
+            @Value("${ml.hedging.max-rate:0.1}") double maxRate) {
+        return new RequestHedger(enabled, delayPercentile, minDelayMillis, maxDelayMillis, maxRate, hedgingExecutor);
+    }
+
+    @Bean
+    public MeterBinder mlHedgingMetrics(RequestHedger mlRequestHedger) {
+        return registry -> {
+            FunctionCounter.builder("smarttrip.ml.hedge.fired", mlRequestHedger, RequestHedger::getHedgesFired)
+                    .description("Duplicate /predict/xgb requests sent after the hedge delay")
+                    .register(registry);
+            FunctionCounter.builder("smarttrip.ml.hedge.won", mlRequestHedger, RequestHedger::getHedgesWon)
+                    .description("Hedged requests that answered before the original")
+                    .register(registry);
+            Gauge.builder("smarttrip.ml.hedge.delay", mlRequestHedger, RequestHedger::getHedgeDelayMillis)
+                    .baseUnit("milliseconds")
+                    .register(registry);
+        };
+    }
+
+    private static ExecutorService newHedgingExecutor() {
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "ml-hedge-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Carry the caller's observation (and trace) onto the threads that send the request
+        ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+        return ContextExecutorService.wrap(executor, snapshots::captureAll);
+    }
+}
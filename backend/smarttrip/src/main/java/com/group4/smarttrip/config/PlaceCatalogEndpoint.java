@@ -0,0 +1,50 @@
+package com.group4.smarttrip.config;
+
+import com.group4.smarttrip.entities.Place;
+import com.group4.smarttrip.entities.Zone;
+import com.group4.smarttrip.services.PlaceCatalogReloadedEvent;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * POST /actuator/placecatalog (management port) after places or zones were reloaded into the
+ * database: evicts them from the second-level and query caches and publishes
+ * {@link PlaceCatalogReloadedEvent}, which clears the cached itineraries and zone metadata.
+ */
+@Component
+@Endpoint(id = "placecatalog")
+public class PlaceCatalogEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaceCatalogEndpoint.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public PlaceCatalogEndpoint(EntityManagerFactory entityManagerFactory, ApplicationEventPublisher eventPublisher) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @WriteOperation
+    public Map<String, Object> reload() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+        cache.evictEntityData(Place.class);
+        cache.evictEntityData(Zone.class);
+        cache.evictQueryRegions();
+
+        Instant reloadedAt = Instant.now();
+        eventPublisher.publishEvent(new PlaceCatalogReloadedEvent(reloadedAt));
+        logger.info("Place catalog caches cleared");
+        return Map.of("reloadedAt", reloadedAt.toString());
+    }
+}
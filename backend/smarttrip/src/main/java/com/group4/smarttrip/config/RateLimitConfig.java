@@ -0,0 +1,175 @@
+package com.group4.smarttrip.config;
+
+import com.group4.smarttrip.security.JwtUtil;
+import com.group4.smarttrip.utils.AdaptiveConcurrencyLimiter;
+import com.group4.smarttrip.utils.RateLimiter;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limits and adaptive concurrency limits for the API, with separate budgets for
+ * Gemini-backed itinerary generation (llm), ML busyness predictions (ml) and everything else
+ * (crud). Clients are told apart by the user id in a valid access token, otherwise by IP.
+ * A client over its budget gets 429; when a class is at its concurrency limit because responses
+ * have slowed down, further requests get 503 until it recovers.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitConfig.class);
+
+    public enum EndpointClass {
+        LLM, ML, CRUD
+    }
+
+    private record Compartment(RateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter) {
+    }
+
+    private final Map<EndpointClass, Compartment> compartments = new EnumMap<>(EndpointClass.class);
+    private final boolean enabled;
+
+    public RateLimitConfig(Environment environment) {
+        this.enabled = environment.getProperty("smarttrip.rate-limit.enabled", Boolean.class, true);
+        int stripes = environment.getProperty("smarttrip.rate-limit.stripes", Integer.class, 4096);
+        addCompartment(environment, EndpointClass.LLM, 6, 3, 16, stripes);
+        addCompartment(environment, EndpointClass.ML, 300, 60, 64, stripes);
+        addCompartment(environment, EndpointClass.CRUD, 600, 120, 200, stripes);
+    }
+
+    @Bean
+    public OncePerRequestFilter rateLimitFilter(JwtUtil jwtUtil) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                return !enabled || !request.getRequestURI().startsWith("/api/");
+            }
+
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                EndpointClass endpointClass = classify(request);
+                Compartment compartment = compartments.get(endpointClass);
+
+                long waitNanos = compartment.rateLimiter().tryAcquire(clientKey(request, jwtUtil));
+                if (waitNanos > 0) {
+                    long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+                    reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Too many requests, try again later");
+                    return;
+                }
+
+                AdaptiveConcurrencyLimiter limiter = compartment.concurrencyLimiter();
+                if (!limiter.tryAcquire()) {
+                    RateLimitConfig.logger.debug("Shedding {} {}: {} requests in flight", request.getMethod(),
+                            request.getRequestURI(), limiter.getInFlight());
+                    reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server is busy, try again shortly");
+                    return;
+                }
+                long start = System.nanoTime();
+                boolean failed = true;
+                try {
+                    chain.doFilter(request, response);
+                    failed = false;
+                } finally {
+                    // Async (streamed) responses are still running, and failures say little about latency
+                    if (failed || request.isAsyncStarted()) {
+                        limiter.releaseWithoutSample();
+                    } else {
+                        limiter.release(System.nanoTime() - start);
+                    }
+                }
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder rateLimitMetrics() {
+        return registry -> compartments.forEach((endpointClass, compartment) -> {
+            String tag = endpointClass.name().toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("smarttrip.rate-limit.rejected", compartment.rateLimiter(), RateLimiter::getRejected)
+                    .description("Requests refused with 429 because the client was over its budget")
+                    .tag("class", tag)
+                    .register(registry);
+            FunctionCounter.builder("smarttrip.concurrency.rejected", compartment.concurrencyLimiter(),
+                            AdaptiveConcurrencyLimiter::getRejected)
+                    .description("Requests refused with 503 because the concurrency limit was reached")
+                    .tag("class", tag)
+                    .register(registry);
+            Gauge.builder("smarttrip.concurrency.limit", compartment.concurrencyLimiter(),
+                            AdaptiveConcurrencyLimiter::getLimit)
+                    .tag("class", tag)
+                    .register(registry);
+            Gauge.builder("smarttrip.concurrency.in-flight", compartment.concurrencyLimiter(),
+                            AdaptiveConcurrencyLimiter::getInFlight)
+                    .tag("class", tag)
+                    .register(registry);
+        });
+    }
+
+    static EndpointClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        if (path.startsWith("/api/smart-itinerary")) {
+            return EndpointClass.LLM;
+        }
+        // The snapshot and zone list are served from memory
+        if (path.startsWith("/api/busyness") && !path.startsWith("/api/busyness/snapshot")
+                && !path.startsWith("/api/busyness/zones")) {
+            return EndpointClass.ML;
+        }
+        return EndpointClass.CRUD;
+    }
+
+    /** The user id for a valid access token (odd keys), otherwise a hash of the IP (even keys). */
+    static long clientKey(HttpServletRequest request, JwtUtil jwtUtil) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                return jwtUtil.extractUserId(authHeader.substring(7)) * 2 + 1;
+            } catch (JwtException | IllegalArgumentException e) {
+                // Invalid or expired: count it against the address
+            }
+        }
+        return (long) request.getRemoteAddr().hashCode() * 2;
+    }
+
+    private void addCompartment(Environment environment, EndpointClass endpointClass, int perMinute, int burst,
+                                int maxConcurrency, int stripes) {
+        String prefix = "smarttrip.rate-limit." + endpointClass.name().toLowerCase(Locale.ROOT) + ".";
+        int max = environment.getProperty(prefix + "max-concurrency", Integer.class, maxConcurrency);
+        RateLimiter rateLimiter = new RateLimiter(
+                environment.getProperty(prefix + "per-minute", Double.class, (double) perMinute) / 60,
+                environment.getProperty(prefix + "burst", Integer.class, burst),
+                stripes);
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(
+                environment.getProperty(prefix + "min-concurrency", Integer.class, Math.max(1, max / 8)), max);
+        compartments.put(endpointClass, new Compartment(rateLimiter, concurrencyLimiter));
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                               String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
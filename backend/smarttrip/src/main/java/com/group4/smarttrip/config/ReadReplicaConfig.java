@@ -0,0 +1,196 @@
+package com.group4.smarttrip.config;
+
+import com.group4.smarttrip.security.JwtUtil;
+import com.group4.smarttrip.utils.ConnectionLimitingDataSource;
+import com.group4.smarttrip.utils.ReadYourWritesGuard;
+import com.group4.smarttrip.utils.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes @Transactional(readOnly = true) work to read replicas when
+ * smarttrip.datasource.replica.urls is set (comma-separated JDBC URLs; add URLs to scale reads).
+ * A user who wrote within the read-your-writes window keeps reading from the primary. The
+ * property is checked at runtime, so an AOT build does not fix the choice.
+ */
+@Configuration
+public class ReadReplicaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaConfig.class);
+
+    @Bean
+    public static ReadYourWritesGuard readYourWritesGuard(Environment environment) {
+        return new ReadYourWritesGuard(
+                environment.getProperty("smarttrip.datasource.read-your-writes-window", Duration.class, Duration.ofSeconds(5)),
+                environment.getProperty("smarttrip.datasource.read-your-writes-max-users", Long.class, 100_000L));
+    }
+
+    @Bean
+    public static BeanPostProcessor replicaRoutingDataSourcePostProcessor(Environment environment,
+                                                                          ObjectProvider<ReadYourWritesGuard> guard) {
+        return new ReplicaRoutingPostProcessor(environment, guard);
+    }
+
+    @Bean
+    public OncePerRequestFilter readYourWritesUserFilter(Environment environment, JwtUtil jwtUtil) {
+        boolean enabled = !replicaUrls(environment).isEmpty();
+        return new OncePerRequestFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                return !enabled;
+            }
+
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                String authHeader = request.getHeader("Authorization");
+                if (authHeader != null && authHeader.startsWith("Bearer ")) {
+                    String token = authHeader.substring(7);
+                    if (jwtUtil.validateToken(token)) {
+                        ReadYourWritesGuard.setCurrentUser(jwtUtil.extractUserId(token));
+                    }
+                }
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    ReadYourWritesGuard.clearCurrentUser();
+                }
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder replicaRoutingMetrics(ObjectProvider<DataSource> dataSource) {
+        return registry -> {
+            if (!(dataSource.getIfAvailable() instanceof LazyConnectionDataSourceProxy proxy)
+                    || !(proxy.getTargetDataSource() instanceof ReplicaRoutingDataSource routing)) {
+                return;
+            }
+            FunctionCounter.builder("smarttrip.datasource.routed", routing, ReplicaRoutingDataSource::getPrimaryConnections)
+                    .tag("target", "primary")
+                    .register(registry);
+            FunctionCounter.builder("smarttrip.datasource.routed", routing, ReplicaRoutingDataSource::getReplicaConnections)
+                    .tag("target", "replica")
+                    .register(registry);
+            FunctionCounter.builder("smarttrip.datasource.read-your-writes", routing, ReplicaRoutingDataSource::getPinnedToPrimary)
+                    .description("Read-only transactions sent to the primary because the user wrote recently")
+                    .register(registry);
+        };
+    }
+
+    private static List<String> replicaUrls(Environment environment) {
+        return Arrays.stream(environment.getProperty("smarttrip.datasource.replica.urls", "").split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+    }
+
+    /**
+     * Ordered so it runs before the virtual-thread connection guard's post-processor: that one
+     * then sees the routing data source and leaves it alone, so each pool is wrapped here.
+     * The replica pools are not beans, so they are closed here when the container destroys the
+     * primary (it is handed the raw pool, not the proxy, and closes that one itself).
+     */
+    static final class ReplicaRoutingPostProcessor implements DestructionAwareBeanPostProcessor, Ordered {
+
+        private final Environment environment;
+        private final ObjectProvider<ReadYourWritesGuard> guard;
+        private final Map<Object, List<HikariDataSource>> replicaPools = Collections.synchronizedMap(new IdentityHashMap<>());
+
+        private ReplicaRoutingPostProcessor(Environment environment, ObjectProvider<ReadYourWritesGuard> guard) {
+            this.environment = environment;
+            this.guard = guard;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            List<String> urls = replicaUrls(environment);
+            if (!(bean instanceof HikariDataSource primary) || urls.isEmpty()) {
+                return bean;
+            }
+
+            List<HikariDataSource> pools = new ArrayList<>();
+            List<DataSource> replicas = new ArrayList<>();
+            for (int i = 0; i < urls.size(); i++) {
+                HikariDataSource replica = newReplicaPool(primary, urls.get(i), i);
+                pools.add(replica);
+                replicas.add(limitIfVirtual(replica));
+            }
+            ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(limitIfVirtual(primary), replicas, guard.getObject());
+            replicaPools.put(primary, pools);
+            logger.info("Routing read-only transactions to {} replica(s)", replicas.size());
+
+            // Defaults match a fresh Hikari/Postgres connection, so no connection is needed to find them out
+            LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+            proxy.setTargetDataSource(routing);
+            proxy.setDefaultAutoCommit(primary.isAutoCommit());
+            proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            proxy.afterPropertiesSet();
+            return proxy;
+        }
+
+        @Override
+        public boolean requiresDestruction(Object bean) {
+            return replicaPools.containsKey(bean);
+        }
+
+        @Override
+        public void postProcessBeforeDestruction(Object bean, String beanName) {
+            List<HikariDataSource> pools = replicaPools.remove(bean);
+            if (pools != null) {
+                pools.forEach(HikariDataSource::close);
+            }
+        }
+
+        private HikariDataSource newReplicaPool(HikariDataSource primary, String url, int index) {
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setJdbcUrl(url);
+            replica.setUsername(environment.getProperty("smarttrip.datasource.replica.username", primary.getUsername()));
+            replica.setPassword(environment.getProperty("smarttrip.datasource.replica.password", primary.getPassword()));
+            replica.setPoolName((primary.getPoolName() != null ? primary.getPoolName() : "HikariPool") + "-replica-" + index);
+            replica.setReadOnly(true);
+            return replica;
+        }
+
+        private DataSource limitIfVirtual(HikariDataSource pool) {
+            if (!environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+                return pool;
+            }
+            long acquireTimeoutMillis = environment.getProperty("smarttrip.datasource.acquire-timeout-ms", Long.class, 2000L);
+            return new ConnectionLimitingDataSource(pool, pool.getMaximumPoolSize(), acquireTimeoutMillis);
+        }
+    }
+}
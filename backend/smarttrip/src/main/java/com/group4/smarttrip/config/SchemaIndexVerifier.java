@@ -0,0 +1,121 @@
+package com.group4.smarttrip.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fails startup when an index that a repository finder relies on is missing, so a skipped or
+ * hand-edited migration shows up at deploy time instead of as a sequential scan in production.
+ * Runs after all singletons are created, i.e. after Flyway has migrated the schema.
+ */
+@Component
+public class SchemaIndexVerifier implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaIndexVerifier.class);
+
+    /** Leading columns each finder needs, keyed by the finder it serves. */
+    static final List<ExpectedIndex> EXPECTED_INDEXES = List.of(
+            new ExpectedIndex("PlaceRepository.findByZone_ZoneIdAndCategory", "places", "zone_id", "category"),
+            new ExpectedIndex("PlaceRepository.findByCategory", "places", "category"),
+            new ExpectedIndex("TripRepository.findAllByUserId", "trips", "user_id", "updated_at"),
+            new ExpectedIndex("DestinationRepository.findAllByTrip", "destinations", "trip_id"),
+            new ExpectedIndex("TripVisitRepository.findAllByTrip", "trip_visits", "trip_id"),
+            new ExpectedIndex("ZoneRepository.findByZoneName", "zones", "zone_name"),
+            new ExpectedIndex("UserRepository.findByEmail", "users", "email"),
+            new ExpectedIndex("UserRepository.existsByUsername", "users", "username"),
+            new ExpectedIndex("UserRepository.findByProviderAndProviderUserId", "users", "provider", "provider_user_id"));
+
+    private final DataSource dataSource;
+    private final boolean enabled;
+
+    public SchemaIndexVerifier(DataSource dataSource,
+                               @Value("${smarttrip.schema.verify-indexes:true}") boolean enabled) {
+        this.dataSource = dataSource;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            Map<String, List<List<String>>> indexesByTable = new HashMap<>();
+            for (ExpectedIndex expected : EXPECTED_INDEXES) {
+                indexesByTable.computeIfAbsent(expected.table(), table -> readIndexes(metaData, table));
+            }
+
+            List<ExpectedIndex> missing = findMissing(EXPECTED_INDEXES, indexesByTable);
+            if (!missing.isEmpty()) {
+                throw new IllegalStateException("Missing database indexes: " + missing
+                        + ". Run the Flyway migrations or set smarttrip.schema.verify-indexes=false.");
+            }
+            logger.info("Verified {} finder indexes", EXPECTED_INDEXES.size());
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read index metadata", e);
+        }
+    }
+
+    /** An index covers a finder when its leading columns match the expected ones in order. */
+    static List<ExpectedIndex> findMissing(List<ExpectedIndex> expected, Map<String, List<List<String>>> indexesByTable) {
+        List<ExpectedIndex> missing = new ArrayList<>();
+        for (ExpectedIndex index : expected) {
+            List<List<String>> existing = indexesByTable.getOrDefault(index.table(), List.of());
+            boolean covered = existing.stream().anyMatch(columns -> columns.size() >= index.columns().size()
+                    && columns.subList(0, index.columns().size()).equals(index.columns()));
+            if (!covered) {
+                missing.add(index);
+            }
+        }
+        return missing;
+    }
+
+    private static List<List<String>> readIndexes(DatabaseMetaData metaData, String table) {
+        // Index name -> (ordinal position -> column); includes primary key and unique constraint indexes
+        Map<String, TreeMap<Short, String>> columnsByIndex = new HashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, null, table, false, false)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (indexName == null || column == null) {
+                    continue;
+                }
+                columnsByIndex.computeIfAbsent(indexName, name -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read indexes of " + table, e);
+        }
+        return columnsByIndex.values().stream()
+                .map(columns -> List.copyOf(columns.values()))
+                .toList();
+    }
+
+    record ExpectedIndex(String finder, String table, List<String> columns) {
+
+        ExpectedIndex(String finder, String table, String... columns) {
+            this(finder, table, List.of(columns));
+        }
+
+        @Override
+        public String toString() {
+            return table + columns + " for " + finder;
+        }
+    }
+}
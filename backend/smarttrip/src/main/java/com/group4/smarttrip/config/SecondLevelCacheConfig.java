@@ -0,0 +1,34 @@
+package com.group4.smarttrip.config;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+
+/**
+ * Publishes hit, miss, put and eviction counts of the Hibernate second-level cache regions
+ * (entity and query caches) under the same cache.* meters Spring's caches use.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+            if (!(sessionFactory.getCache().getRegionFactory() instanceof JCacheRegionFactory regionFactory)) {
+                return;
+            }
+            CacheManager cacheManager = regionFactory.getCacheManager();
+            for (String cacheName : cacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, cacheManager.getCache(cacheName), Tags.of("cache.manager", "hibernate"));
+            }
+        };
+    }
+}
@@ -1,16 +1,27 @@
 package com.group4.smarttrip.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
 public class SecurityConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -31,7 +42,43 @@ public class SecurityConfig {
 //        return http.build();
 //    }
 
+    /**
+     * Actuator, served on the internal management port. Health and Prometheus scrapes are open;
+     * every other endpoint (loggers, metrics, placecatalog) needs the HTTP basic credentials in
+     * smarttrip.management.username/password and is closed when no password is set.
+     */
+    @Bean
+    @Order(1)
+    @ConditionalOnWebApplication
+    public SecurityFilterChain managementFilterChain(HttpSecurity http, Environment environment,
+                                                     PasswordEncoder passwordEncoder) throws Exception {
+        String password = environment.getProperty("smarttrip.management.password", "");
+        http
+                .securityMatcher(EndpointRequest.toAnyEndpoint())
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> {
+                    auth.requestMatchers(EndpointRequest.to("health", "prometheus")).permitAll();
+                    if (password.isBlank()) {
+                        auth.anyRequest().denyAll();
+                    } else {
+                        auth.anyRequest().hasRole("ACTUATOR");
+                    }
+                })
+                .httpBasic(Customizer.withDefaults());
+        if (!password.isBlank()) {
+            http.userDetailsService(new InMemoryUserDetailsManager(User
+                    .withUsername(environment.getProperty("smarttrip.management.username", "actuator"))
+                    .password(passwordEncoder.encode(password))
+                    .roles("ACTUATOR")
+                    .build()));
+        }
+        return http.build();
+    }
+
+    // Offline tools such as DistanceMatrixBuilder start without a web server and have no HttpSecurity
     @Bean
+    @ConditionalOnWebApplication
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
@@ -54,12 +101,12 @@ public class SecurityConfig {
                 .oauth2Login(oauth -> oauth
                         // Let Spring use the redirect-uri from application.properties
                         .successHandler((request, response, authentication) -> {
-                            System.out.println("[OAuth2Login Success] Authentication complete. Redirecting to: /oauth2/code/google");
+                            logger.debug("OAuth2 login complete. Redirecting to: /oauth2/code/google");
                             // Instead of redirecting here, delegate to your controller
                             response.sendRedirect("/oauth2/code/google");
                         })
                         .failureHandler((request, response, exception) -> {
-                            System.err.println("[OAuth2Login Failure] " + exception.getMessage());
+                            logger.warn("OAuth2 login failed: {}", exception.getMessage());
                             response.sendRedirect("/login?oauth2Error=true");
                         })
                 );
@@ -0,0 +1,74 @@
+package com.group4.smarttrip.config;
+
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Boot already publishes application.started.time and application.ready.time. This adds the
+ * time from JVM start until the first API request completes, plus how long that cold request took.
+ */
+@Configuration
+public class StartupMetricsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupMetricsConfig.class);
+
+    private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+    private final AtomicLong firstRequestCompletedMillis = new AtomicLong(-1);
+    private final AtomicLong firstRequestDurationMillis = new AtomicLong(-1);
+
+    @Bean
+    public OncePerRequestFilter firstRequestTimingFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                if (firstRequestSeen.get()) {
+                    chain.doFilter(request, response);
+                    return;
+                }
+                long start = System.nanoTime();
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    if (firstRequestSeen.compareAndSet(false, true)) {
+                        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+                        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        firstRequestCompletedMillis.set(uptime);
+                        firstRequestDurationMillis.set(duration);
+                        StartupMetricsConfig.logger.info("First request ({} {}) completed {} ms after JVM start, took {} ms",
+                                request.getMethod(), request.getRequestURI(), uptime, duration);
+                    }
+                }
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder firstRequestMetrics() {
+        return registry -> {
+            TimeGauge.builder("smarttrip.startup.first-request", firstRequestCompletedMillis, TimeUnit.MILLISECONDS,
+                            AtomicLong::get)
+                    .description("Time from JVM start until the first request completed, -1 before it")
+                    .register(registry);
+            TimeGauge.builder("smarttrip.startup.first-request.duration", firstRequestDurationMillis,
+                            TimeUnit.MILLISECONDS, AtomicLong::get)
+                    .description("Duration of the first request served")
+                    .register(registry);
+        };
+    }
+}
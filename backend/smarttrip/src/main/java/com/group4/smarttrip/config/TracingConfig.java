@@ -0,0 +1,21 @@
+package com.group4.smarttrip.config;
+
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Span exporters are pluggable: every SpanExporter bean is registered with the tracer.
+ * OTLP export is enabled by setting management.otlp.tracing.endpoint; for local runs
+ * smarttrip.tracing.exporter=logging writes finished spans to the application log.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "smarttrip.tracing.exporter", havingValue = "logging")
+    public LoggingSpanExporter loggingSpanExporter() {
+        return LoggingSpanExporter.create();
+    }
+}
@@ -0,0 +1,71 @@
+package com.group4.smarttrip.config;
+
+import com.group4.smarttrip.utils.ConnectionLimitingDataSource;
+import com.group4.smarttrip.utils.VirtualThreadPinningMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Active when spring.threads.virtual.enabled=true. Boot then runs Tomcat requests, @Async
+ * tasks and scheduled tasks on virtual threads; this adds a guard in front of the connection
+ * pool and in-process pinning diagnostics.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${smarttrip.datasource.acquire-timeout-ms:2000}") long acquireTimeoutMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // One permit per pooled connection, so waiting happens on the semaphore and not inside Hikari
+                if (bean instanceof HikariDataSource hikari) {
+                    return new ConnectionLimitingDataSource(hikari, hikari.getMaximumPoolSize(), acquireTimeoutMillis);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${smarttrip.virtual-threads.pinning-threshold:20ms}") Duration threshold,
+            @Value("${smarttrip.virtual-threads.pinning-log-every:50}") long logEvery) {
+        return new VirtualThreadPinningMonitor(threshold, logEvery);
+    }
+
+    @Bean
+    public MeterBinder virtualThreadMetrics(VirtualThreadPinningMonitor virtualThreadPinningMonitor,
+                                            ObjectProvider<DataSource> dataSource) {
+        return registry -> {
+            FunctionCounter.builder("smarttrip.virtual-threads.pinned", virtualThreadPinningMonitor,
+                            VirtualThreadPinningMonitor::getPinnedCount)
+                    .description("Virtual threads that blocked while pinned to their carrier")
+                    .register(registry);
+            FunctionCounter.builder("smarttrip.virtual-threads.pinned.time", virtualThreadPinningMonitor,
+                            VirtualThreadPinningMonitor::getPinnedSeconds)
+                    .baseUnit("seconds")
+                    .register(registry);
+
+            if (dataSource.getIfAvailable() instanceof ConnectionLimitingDataSource limited) {
+                Gauge.builder("smarttrip.datasource.waiting", limited, ConnectionLimitingDataSource::getWaitingThreads)
+                        .description("Threads waiting for a database connection permit")
+                        .register(registry);
+            }
+        };
+    }
+}
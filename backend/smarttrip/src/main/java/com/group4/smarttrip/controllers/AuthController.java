@@ -30,12 +30,14 @@ public class AuthController {
     private final AuthService authService;
     private final UserMapper userMapper;
 
+    private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
+
     @PostMapping("/signup")
     public ResponseEntity<?> register(
             @RequestBody RegisterUserRequest request,
             UriComponentsBuilder uriBuilder) {
         
-        System.out.println("[SIGNUP] Received request: " + request);
+        logger.debug("Signup request received for username={}", request.getUsername());
 
         try {
             var userDto = authService.register(userMapper.toEntity(request));
@@ -62,7 +64,7 @@ public class AuthController {
     @PostMapping("/token/refresh")
     public ResponseEntity<?> refresh(@RequestBody Map<String, String> request) {
 
-        System.out.println("[REFRESH] Refresh token request received: " + request);
+        logger.debug("Refresh token request received");
 
         try {
             var response = authService.refreshToken(request.get("refreshToken"));
@@ -0,0 +1,30 @@
+package com.group4.smarttrip.controllers;
+
+import com.group4.smarttrip.utils.BulkheadFullException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * A downstream with no free bulkhead slot becomes 503 with Retry-After, for every controller.
+ */
+@RestControllerAdvice
+public class BulkheadExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadExceptionHandler.class);
+
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<Map<String, String>> handleBulkheadFull(BulkheadFullException e) {
+        // Counted in smarttrip.bulkhead.rejected, so not logged above debug
+        logger.debug("Rejected request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", "Service is busy, please try again shortly"));
+    }
+}
@@ -1,19 +1,33 @@
 package com.group4.smarttrip.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group4.smarttrip.dtos.BusynessQuery;
 import com.group4.smarttrip.dtos.ZoneBusynessDto;
 import com.group4.smarttrip.entities.Zone;
 import com.group4.smarttrip.services.BusynessService;
+import com.group4.smarttrip.services.BusynessSnapshotService;
+import com.group4.smarttrip.services.BusynessSnapshotService.EncodedBody;
 import com.group4.smarttrip.services.ZoneService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.List;
@@ -27,6 +41,19 @@ public class BusynessController {
 
     private final BusynessService busynessService;
     private final ZoneService zoneService;
+    private final BusynessSnapshotService busynessSnapshotService;
+    private final ObjectMapper objectMapper;
+
+    public static final String SNAPSHOT_MEDIA_TYPE = "application/vnd.smarttrip.busyness-snapshot";
+
+    @Value("${smarttrip.busyness.stream.max-in-flight:16}")
+    private int streamMaxInFlight;
+
+    @Value("${smarttrip.busyness.zones.max-age:1d}")
+    private Duration zoneMetadataMaxAge;
+
+    @Value("${smarttrip.busyness.batch.max-points:100}")
+    private int batchMaxPoints;
 
     private static final Logger logger = LoggerFactory.getLogger(BusynessController.class);
 
@@ -93,4 +120,118 @@ public class BusynessController {
                     .body(Map.of("error", e.getMessage()));
         }
     }
+
+    /**
+     * POST /api/busyness/batch
+     * - Body: [{"lat": .., "lon": .., "timestamp": "2025-07-01T15:00:00"}, ...]; without a timestamp a point
+     *   gets the current busyness.
+     * - Returns one ZoneBusynessDto per point in request order, or null where no zone is within 3.0 km.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> getBusynessBatch(@RequestBody List<BusynessQuery> queries) {
+        logger.info("Incoming POST /api/busyness/batch request: {} points", queries.size());
+
+        if (queries.size() > batchMaxPoints) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "At most " + batchMaxPoints + " points per request"));
+        }
+        if (queries.stream().anyMatch(query -> query == null || query.lat() == null || query.lon() == null)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(Map.of("error", "Every point needs lat and lon"));
+        }
+
+        List<ZoneBusynessDto> results = busynessService.getBusynessBatch(queries, 3.0);
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * GET /api/busyness/stream
+     * - Current busyness for all zones as newline-delimited JSON, one ZoneBusynessDto per line,
+     *   written and flushed as each zone's prediction completes. The body runs on the MVC async
+     *   executor after this method returns, without the request thread's thread-locals.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBusyness() {
+        List<Long> zoneIds = zoneService.getAllZones().stream()
+                .map(Zone::getZoneId)
+                .toList();
+        logger.info("Streaming busyness for {} zones", zoneIds.size());
+
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                busynessService.forEachCurrentBusyness(zoneIds, streamMaxInFlight, dto -> {
+                    objectMapper.writeValue(generator, dto);
+                    generator.writeRaw('\n');
+                    // Push each line to the client; blocks while the client is not reading
+                    generator.flush();
+                });
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                // Stops nginx from buffering the response, which would undo the per-line flush
+                .header("X-Accel-Buffering", "no")
+                .body(body);
+    }
+
+    /**
+     * GET /api/busyness/snapshot
+     * - Current busyness for all zones in the compact binary format described in BusynessSnapshotCodec,
+     *   gzipped when the client accepts it. Clients revalidate with If-None-Match and get 304 until
+     *   the next refresh; zone names and coordinates come from /api/busyness/zones.
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<byte[]> getBusynessSnapshot(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            return encodedResponse(busynessSnapshotService.getSnapshot(), acceptEncoding,
+                    MediaType.parseMediaType(SNAPSHOT_MEDIA_TYPE), CacheControl.noCache());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * GET /api/busyness/zones
+     * - Static zone metadata (id, name, centre) for decoding snapshots; cacheable for a long time.
+     */
+    @GetMapping("/zones")
+    public ResponseEntity<byte[]> getZoneMetadata(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return encodedResponse(busynessSnapshotService.getZoneMetadata(), acceptEncoding,
+                MediaType.APPLICATION_JSON, CacheControl.maxAge(zoneMetadataMaxAge).cachePublic());
+    }
+
+    /** A matching If-None-Match is answered with 304 by Spring from the ETag set here. */
+    private static ResponseEntity<byte[]> encodedResponse(EncodedBody encoded, String acceptEncoding,
+                                                          MediaType contentType, CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(contentType)
+                .cacheControl(cacheControl)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return builder.eTag(encoded.gzipEtag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(encoded.gzipBody());
+        }
+        return builder.eTag(encoded.etag()).body(encoded.body());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
@@ -1,16 +1,19 @@
 package com.group4.smarttrip.controllers;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.RequestMapping;
 
 @Controller
 public class HomeController {
+    private static final Logger logger = LoggerFactory.getLogger(HomeController.class);
     @Value("${spring.application.name}")
     private String appName;
     @RequestMapping("/")
     public String index() {
-        System.out.println(appName);
+        logger.debug("Serving index for {}", appName);
         return "index.html";
     }
 }
@@ -1,5 +1,6 @@
 package com.group4.smarttrip.controllers;
 
+import com.group4.smarttrip.dtos.LoginResponse;
 import com.group4.smarttrip.services.AuthService;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -14,7 +15,6 @@ import org.springframework.web.bind.annotation.RestController;
 import java.io.IOException;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.Map;
 
 @RestController
 @RequiredArgsConstructor
@@ -37,9 +37,9 @@ public class OauthController {
             return;
         }
 
-        Map<String, ?> result = authService.loginWithGoogle(oAuth2User);
-        String accessToken = (String) result.get("accessToken");
-        String refreshToken = (String) result.get("refreshToken");
+        LoginResponse result = authService.loginWithGoogle(oAuth2User);
+        String accessToken = result.accessToken();
+        String refreshToken = result.refreshToken();
 
         // Redirect to frontend with tokens as query params
         String redirectUrl = "https://smarttrip.duckdns.org/oauth-success"
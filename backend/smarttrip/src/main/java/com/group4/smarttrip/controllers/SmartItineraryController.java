@@ -1,15 +1,17 @@
 package com.group4.smarttrip.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group4.smarttrip.dtos.TripDetailsResponse;
 import com.group4.smarttrip.services.SmartItineraryService;
 import com.group4.smarttrip.security.JwtUtil;
+import com.group4.smarttrip.utils.BulkheadFullException;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Map;
-
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("api/smart-itinerary")
@@ -18,6 +20,8 @@ public class SmartItineraryController {
     private final SmartItineraryService smartItineraryService;
     private final JwtUtil jwtUtil;
 
+    private static final Logger logger = LoggerFactory.getLogger(SmartItineraryController.class);
+
     @PostMapping
     public ResponseEntity<?> generateSmartItinerary(@RequestBody String userInput, HttpServletRequest request) {
         try {
@@ -29,11 +33,13 @@ public class SmartItineraryController {
             Long userId = jwtUtil.extractUserId(authHeader.substring(7));
 
             // Step 2: Generate smart itinerary via service
-            Map<String, Object> tripDetails = smartItineraryService.generateSmartTrip(userInput, userId);
+            TripDetailsResponse tripDetails = smartItineraryService.generateSmartTrip(userInput, userId);
             return ResponseEntity.ok(tripDetails);
 
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Failed to generate smart itinerary", e);
             return ResponseEntity.internalServerError().body("Failed to generate smart itinerary.");
         }
     }
@@ -57,7 +57,7 @@ public class TripController {
     @GetMapping("/{tripId}")
     public ResponseEntity<?> getTripDetails(@PathVariable Long tripId) {
         try {
-            Map<String, Object> tripDetails = tripService.viewTrip(tripId);
+            TripDetailsResponse tripDetails = tripService.viewTrip(tripId);
             return ResponseEntity.ok(tripDetails);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", e.getMessage()));
@@ -0,0 +1,9 @@
+package com.group4.smarttrip.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * One point of POST /api/busyness/batch; without a timestamp the current busyness is returned.
+ */
+public record BusynessQuery(Double lat, Double lon, LocalDateTime timestamp) {
+}
@@ -0,0 +1,12 @@
+package com.group4.smarttrip.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record MlPredictionBatchResponse(
+        @JsonProperty("busyness_scores") List<Double> busynessScores,
+        String error) {
+}
@@ -0,0 +1,16 @@
+package com.group4.smarttrip.dtos;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record MlPredictionRequest(
+        String timestamp,
+        @JsonProperty("zone_id") long zoneId,
+        @JsonProperty("zone_name") String zoneName,
+        Weather weather) {
+
+    public record Weather(
+            double temp,
+            double prcp,
+            @JsonProperty("weather_id") int weatherId) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.group4.smarttrip.dtos;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record MlPredictionResponse(
+        @JsonProperty("busyness_score") Double busynessScore,
+        String error) {
+}
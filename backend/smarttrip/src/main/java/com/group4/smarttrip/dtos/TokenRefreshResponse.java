@@ -0,0 +1,4 @@
+package com.group4.smarttrip.dtos;
+
+public record TokenRefreshResponse(String accessToken) {
+}
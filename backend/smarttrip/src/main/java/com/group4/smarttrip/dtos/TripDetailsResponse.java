@@ -0,0 +1,6 @@
+package com.group4.smarttrip.dtos;
+
+import java.util.List;
+
+public record TripDetailsResponse(TripDto basicInfo, List<DestinationDto> destinations) {
+}
@@ -0,0 +1,13 @@
+package com.group4.smarttrip.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ZoneMetadataDto {
+    private Long zoneId;
+    private String zoneName;
+    private double centralLat;
+    private double centralLon;
+}
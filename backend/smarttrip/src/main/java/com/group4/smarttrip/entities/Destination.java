@@ -13,7 +13,9 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "destinations")
 public class Destination {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequence ids (allocated 50 at a time) let Hibernate batch the inserts of a whole itinerary
+    @Id @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "destinations_seq")
+    @SequenceGenerator(name = "destinations_seq", sequenceName = "destinations_seq", allocationSize = 50)
     private Long destinationId;
 
     @Column(nullable = false)
@@ -26,7 +28,7 @@ public class Destination {
     private String destinationName;
 
     @JoinColumn(name = "trip_id")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Trip trip;
 
     @Column(nullable = false)
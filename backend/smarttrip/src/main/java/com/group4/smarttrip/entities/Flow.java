@@ -1,17 +1,22 @@
 package com.group4.smarttrip.entities;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "historical_flows")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "historical-flows")
 public class Flow {
 
     @EmbeddedId
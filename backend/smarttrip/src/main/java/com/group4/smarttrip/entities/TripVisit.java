@@ -17,12 +17,12 @@ import java.time.LocalDateTime;
 public class TripVisit {
     @Id
     @JoinColumn(name = "trip_id")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Trip trip;
 
     @Id
     @JoinColumn(name = "place_id")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Place place;
 
     private LocalDateTime visitTime;
@@ -1,17 +1,22 @@
 package com.group4.smarttrip.entities;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "zones")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "zones")
 public class Zone {
     @Id
     private long zoneId;
@@ -1,12 +1,21 @@
 package com.group4.smarttrip.repositories;
 
 import com.group4.smarttrip.entities.Place;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 public interface PlaceRepository extends JpaRepository<Place, Long> {
+    // Place lists are cached as ids in the query cache; the places themselves come from the entity cache
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Place> findByZone_ZoneId(Long zoneId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Place> findByZone_ZoneIdAndCategory(Long zoneId, String category);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Place> findByCategory(String category);
 }
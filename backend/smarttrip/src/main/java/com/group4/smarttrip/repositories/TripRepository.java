@@ -2,10 +2,16 @@ package com.group4.smarttrip.repositories;
 
 import com.group4.smarttrip.entities.Trip;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface TripRepository extends JpaRepository<Trip, Long> {
    List<Trip> findAllByUserId(Long userId, PageRequest pageRequest);
+
+   // Trip and its destinations in one query, for the trip details view
+   @EntityGraph(attributePaths = "destinations")
+   Optional<Trip> findWithDestinationsByTripId(Long tripId);
 }
@@ -3,10 +3,13 @@ package com.group4.smarttrip.repositories;
 import com.group4.smarttrip.entities.Trip;
 import com.group4.smarttrip.entities.TripVisit;
 import com.group4.smarttrip.entities.TripVisitId;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 
 public interface TripVisitRepository extends JpaRepository<TripVisit, TripVisitId> {
+    // Visits are always shown with their place
+    @EntityGraph(attributePaths = "place")
     List<TripVisit> findAllByTrip(Trip trip);
 }
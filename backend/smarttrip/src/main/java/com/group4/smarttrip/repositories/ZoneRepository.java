@@ -1,10 +1,19 @@
 package com.group4.smarttrip.repositories;
 
 import com.group4.smarttrip.entities.Zone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 
 public interface ZoneRepository extends JpaRepository<Zone, Long> {
+    // Zones are reference data: results are kept in the Hibernate query cache
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Zone> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Zone> findByZoneName(String zoneName);
 }
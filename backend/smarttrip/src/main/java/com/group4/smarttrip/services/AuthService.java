@@ -1,5 +1,7 @@
 package com.group4.smarttrip.services;
 
+import com.group4.smarttrip.dtos.LoginResponse;
+import com.group4.smarttrip.dtos.TokenRefreshResponse;
 import com.group4.smarttrip.dtos.UserDto;
 import com.group4.smarttrip.entities.User;
 import com.group4.smarttrip.mappers.UserMapper;
@@ -10,8 +12,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-
 @Service
 @RequiredArgsConstructor
 public class AuthService {
@@ -35,7 +35,7 @@ public class AuthService {
         return userMapper.toDto(user);
     }
 
-    public Map<String, ?> login(String identifier, String password) {
+    public LoginResponse login(String identifier, String password) {
 
         User user = userRepository
                 .findByEmailOrUsername(identifier, identifier)
@@ -49,14 +49,10 @@ public class AuthService {
         String refreshToken = jwtUtil.generateRefreshToken(user.getId());
         UserDto userDto = userMapper.toDto(user);
 
-        return Map.of(
-                "accessToken", accessToken,
-                "refreshToken", refreshToken,
-                "user", userDto
-        );
+        return new LoginResponse(accessToken, refreshToken, userDto);
     }
 
-    public Map<String, String> refreshToken(String refreshToken) {
+    public TokenRefreshResponse refreshToken(String refreshToken) {
         if (!jwtUtil.validateToken(refreshToken)) {
             throw new IllegalArgumentException("Invalid refresh token");
         }
@@ -67,10 +63,10 @@ public class AuthService {
 
         String newAccessToken = jwtUtil.generateToken(id);
 
-        return Map.of("accessToken", newAccessToken);
+        return new TokenRefreshResponse(newAccessToken);
     }
 
-    public Map<String, ?> loginWithGoogle(OAuth2User oAuth2User) {
+    public LoginResponse loginWithGoogle(OAuth2User oAuth2User) {
         String email = oAuth2User.getAttribute("email");
         String name = oAuth2User.getAttribute("name");
         String providerUserId = oAuth2User.getAttribute("sub"); // Google's unique user ID
@@ -95,11 +91,7 @@ public class AuthService {
         String refreshToken = jwtUtil.generateRefreshToken(user.getId());
         UserDto userDto = userMapper.toDto(user);
 
-        return Map.of(
-                "accessToken", accessToken,
-                "refreshToken", refreshToken,
-                "user", userDto
-        );
+        return new LoginResponse(accessToken, refreshToken, userDto);
     }
 
     private String generateUniqueUsernameFromEmail(String email) {
@@ -1,20 +1,43 @@
 package com.group4.smarttrip.services;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group4.smarttrip.dtos.BusynessQuery;
+import com.group4.smarttrip.dtos.MlPredictionRequest;
 import com.group4.smarttrip.dtos.WeatherDto;
 import com.group4.smarttrip.dtos.ZoneBusynessDto;
 import com.group4.smarttrip.entities.Zone;
+import com.group4.smarttrip.utils.Bulkhead;
+import com.group4.smarttrip.utils.BulkheadFullException;
+import com.group4.smarttrip.utils.LogSampler;
+import com.group4.smarttrip.utils.RequestHedger;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,8 +45,15 @@ public class BusynessService {
     private final ZoneService zoneService;
     private final WeatherService weatherService;
     private final FlowService flowService;
+    private final RequestHedger mlRequestHedger;
+    private final MlPredictionCodec mlPredictionCodec;
+    private final ObservationRegistry observationRegistry;
+    private final RestTemplate restTemplate;
+    private final Bulkhead mlBulkhead;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private static final Logger logger = LoggerFactory.getLogger(BusynessService.class);
+    private static final LogSampler payloadSampler = new LogSampler(100);
+    private static final ContextSnapshotFactory contextSnapshots = ContextSnapshotFactory.builder().build();
 
     @Value("${ml.service.url}")
     private String mlServiceUrl;
@@ -36,8 +66,145 @@ public class BusynessService {
         return getBusyness(zoneId, time, true);
     }
 
+    /**
+     * Computes the current busyness of each zone and hands every result to the sink as soon as it
+     * is ready (completion order, not input order). At most maxInFlight predictions run at once and
+     * the sink runs on the thread that called this method, so a slow consumer holds back new
+     * predictions instead of results piling up in memory.
+     */
+    public void forEachCurrentBusyness(List<Long> zoneIds, int maxInFlight, BusynessSink sink)
+            throws IOException, InterruptedException {
+        // Virtual threads: the tasks mostly wait on the ML service. Observations follow the tasks.
+        ExecutorService executor = ContextExecutorService.wrap(
+                Executors.newVirtualThreadPerTaskExecutor(), contextSnapshots::captureAll);
+        try {
+            CompletionService<ZoneBusynessDto> completions = new ExecutorCompletionService<>(executor);
+            int submitted = 0;
+            int inFlight = 0;
+            while (submitted < zoneIds.size() || inFlight > 0) {
+                while (inFlight < maxInFlight && submitted < zoneIds.size()) {
+                    Long zoneId = zoneIds.get(submitted++);
+                    // Streams and snapshot rebuilds leave part of the ML and weather slots to interactive calls
+                    completions.submit(() -> Bulkhead.runAsBackground(() -> getCurrentBusynessByZone(zoneId)));
+                    inFlight++;
+                }
+                ZoneBusynessDto dto = takeResult(completions);
+                inFlight--;
+                if (dto != null) {
+                    sink.accept(dto);
+                }
+            }
+        } finally {
+            // Nothing is left running once the client has gone away
+            executor.shutdownNow();
+        }
+    }
+
+    private static ZoneBusynessDto takeResult(CompletionService<ZoneBusynessDto> completions) throws InterruptedException {
+        try {
+            return completions.take().get();
+        } catch (ExecutionException e) {
+            logger.warn("Skipping zone in busyness stream: {}", e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Receives the results of {@link #forEachCurrentBusyness}, one at a time, on the thread that
+     * called it. For GET /api/busyness/stream that is the MVC async executor running the
+     * StreamingResponseBody, not the servlet request thread: thread-locals set by request filters,
+     * such as the ReadYourWritesGuard user, are not set there.
+     */
+    @FunctionalInterface
+    public interface BusynessSink {
+        void accept(ZoneBusynessDto busyness) throws IOException;
+    }
+
+    /**
+     * Busyness for many points, in request order, with null where no zone is within maxDistanceKm.
+     * Points are matched to zones in one pass, points that fall in the same zone and hour share
+     * one prediction, weather is fetched once per distinct hour and all predictions go to the ML
+     * service in a single batch call.
+     */
+    public List<ZoneBusynessDto> getBusynessBatch(List<BusynessQuery> queries, double maxDistanceKm) {
+        double[] lats = new double[queries.size()];
+        double[] lons = new double[queries.size()];
+        for (int i = 0; i < lats.length; i++) {
+            lats[i] = queries.get(i).lat();
+            lons[i] = queries.get(i).lon();
+        }
+        List<Zone> zones = zoneService.findNearestZones(lats, lons, maxDistanceKm);
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<ZoneHour, Integer> slots = new LinkedHashMap<>();
+        Map<LocalDateTime, WeatherDto> forecastByHour = new HashMap<>();
+        WeatherDto currentWeather = null;
+        List<MlPredictionRequest> predictions = new ArrayList<>();
+        int[] slotOfQuery = new int[queries.size()];
+
+        for (int i = 0; i < slotOfQuery.length; i++) {
+            Zone zone = zones.get(i);
+            if (zone == null) {
+                slotOfQuery[i] = -1;
+                continue;
+            }
+            LocalDateTime timestamp = queries.get(i).timestamp();
+            boolean isCurrent = timestamp == null;
+            // The model only sees the hour of the day, so every time in an hour predicts the same
+            LocalDateTime hour = (isCurrent ? now : timestamp).truncatedTo(ChronoUnit.HOURS);
+            ZoneHour key = new ZoneHour(zone.getZoneId(), hour, isCurrent);
+
+            Integer slot = slots.get(key);
+            if (slot == null) {
+                WeatherDto weather;
+                if (isCurrent) {
+                    if (currentWeather == null) {
+                        currentWeather = weatherService.getCurrentWeather();
+                    }
+                    weather = currentWeather;
+                } else {
+                    weather = forecastByHour.computeIfAbsent(hour, h ->
+                            weatherService.getForecastWeather(h.atZone(ZoneId.systemDefault()).toEpochSecond()));
+                }
+                slot = predictions.size();
+                slots.put(key, slot);
+                predictions.add(mlPredictionCodec.toRequest(zone, weather, hour));
+            }
+            slotOfQuery[i] = slot;
+        }
+
+        double[] scores;
+        try {
+            scores = predictBusynessBatch(predictions);
+        } catch (BulkheadFullException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.warn("Batch prediction failed for {} zone-hours: {}", predictions.size(), e.getMessage());
+            scores = new double[predictions.size()];
+        }
+        logger.debug("Busyness batch: {} points, {} zone-hours, {} forecast hours",
+                queries.size(), predictions.size(), forecastByHour.size());
+
+        List<ZoneBusynessDto> results = new ArrayList<>(queries.size());
+        for (int i = 0; i < slotOfQuery.length; i++) {
+            if (slotOfQuery[i] < 0) {
+                results.add(null);
+                continue;
+            }
+            Zone zone = zones.get(i);
+            double score = scores[slotOfQuery[i]];
+            LocalDateTime timestamp = queries.get(i).timestamp();
+            results.add(new ZoneBusynessDto(zone.getZoneId(), zone.getZoneName(), zone.getCentralLat(),
+                    zone.getCentralLon(), score, busynessLevel(score), timestamp != null ? timestamp : now));
+        }
+        return results;
+    }
+
+    private record ZoneHour(long zoneId, LocalDateTime hour, boolean current) {
+    }
+
     private ZoneBusynessDto getBusyness(Long zoneId, LocalDateTime time, boolean isFuture) {
-        System.out.printf("Fetching %s busyness for zone ID: %d at %s%n",
+        logger.debug("Fetching {} busyness for zone ID: {} at {}",
                 isFuture ? "future" : "current", zoneId, time);
 
         Zone zone = zoneService.getZoneById(zoneId)
@@ -50,47 +217,66 @@ public class BusynessService {
         double busynessScore;
         try {
             busynessScore = predictBusyness(zone, weather, time);
+        } catch (BulkheadFullException e) {
+            // A busy ML service is not a zero score; the client is told to retry
+            throw e;
         } catch (Exception e) {
-            System.err.println("[ERROR] Prediction failed: " + e.getMessage());
+            logger.warn("Prediction failed for zone {}: {}", zoneId, e.getMessage());
             busynessScore = 0;
         }
 
-        String busynessLevel = (busynessScore <= 1512) ? "low" :
-                (busynessScore <= 5094) ? "med" : "high";
-
         return new ZoneBusynessDto(
                 zoneId,
                 zone.getZoneName(),
                 zone.getCentralLat(),
                 zone.getCentralLon(),
                 busynessScore,
-                busynessLevel,
+                busynessLevel(busynessScore),
                 time
         );
     }
 
-    public double predictBusyness(Zone zone, WeatherDto weather, LocalDateTime time) throws JsonProcessingException {
-        String formattedTime = time.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+    private static String busynessLevel(double busynessScore) {
+        return (busynessScore <= 1512) ? "low" :
+                (busynessScore <= 5094) ? "med" : "high";
+    }
 
-        Map<String, Object> weatherMap = new HashMap<>();
-        weatherMap.put("temp", weather.getTemperature());
-        weatherMap.put("prcp", weather.getPrecipitation());
-        weatherMap.put("weather_id", weather.getWeatherId());
+    public double predictBusyness(Zone zone, WeatherDto weather, LocalDateTime time) throws IOException {
+        MlPredictionRequest request = mlPredictionCodec.toRequest(zone, weather, time);
+        byte[] requestBody = mlPredictionCodec.encode(request);
 
-        Map<String, Object> requestBody = new HashMap<>();
-        requestBody.put("timestamp", formattedTime);
-        requestBody.put("zone_id", zone.getZoneId());
-        requestBody.put("zone_name", zone.getZoneName());
-        requestBody.put("weather", weatherMap);
+        boolean logPayload = logger.isDebugEnabled() && payloadSampler.sample();
+        if (logPayload) {
+            logger.debug("Sending request to ML model: {}", new String(requestBody, StandardCharsets.UTF_8));
+        }
 
-        // 调试打印请求体
-        String json = new ObjectMapper().writeValueAsString(requestBody);
-        System.out.println("[DEBUG] Sending request to ML model: " + json);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<byte[]> entity = new HttpEntity<>(requestBody, headers);
 
         String url = mlServiceUrl + "/predict/xgb";
-        Map<String, Object> responseBody = restTemplate.postForObject(url, requestBody, Map.class);
+        byte[] responseBody = mlBulkhead.call(() -> Observation.createNotStarted("smarttrip.ml.predict", observationRegistry)
+                .observe(() -> mlRequestHedger.call(
+                        () -> restTemplate.postForObject(url, entity, byte[].class))));
+
+        if (logPayload && responseBody != null) {
+            logger.debug("Received response: {}", new String(responseBody, StandardCharsets.UTF_8));
+        }
+        return mlPredictionCodec.decodeScore(responseBody);
+    }
+
+    public double[] predictBusynessBatch(List<MlPredictionRequest> requests) throws IOException {
+        if (requests.isEmpty()) {
+            return new double[0];
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpEntity<byte[]> entity = new HttpEntity<>(mlPredictionCodec.encodeBatch(requests), headers);
 
-        System.out.println("[DEBUG] Received response: " + responseBody);
-        return ((Number) responseBody.get("busyness_score")).doubleValue();
+        // Not hedged: batch latency grows with its size and would skew the single-call percentiles
+        String url = mlServiceUrl + "/predict/xgb/batch";
+        byte[] responseBody = mlBulkhead.call(() -> Observation.createNotStarted("smarttrip.ml.predict-batch", observationRegistry)
+                .observe(() -> restTemplate.postForObject(url, entity, byte[].class)));
+        return mlPredictionCodec.decodeScores(responseBody, requests.size());
     }
 }
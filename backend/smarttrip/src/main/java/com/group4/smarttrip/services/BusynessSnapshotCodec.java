@@ -0,0 +1,121 @@
+package com.group4.smarttrip.services;
+
+import com.group4.smarttrip.dtos.ZoneBusynessDto;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Binary busyness snapshot for map clients. Zone names and coordinates are not repeated here;
+ * clients get them once from GET /api/busyness/zones. Layout (big-endian):
+ * <pre>
+ * u8      format version (1)
+ * i64     generated at, epoch seconds
+ * u16     score step: busyness score ≈ quantized score × step
+ * varint  zone count
+ * per zone, in ascending zone id order:
+ *   varint  zone id minus the previous zone id (the first entry holds the id itself)
+ *   u8      quantized score, 0-255 (scores above 255 × step are clamped)
+ *   u8      level: 0 low, 1 med, 2 high, 3 unknown
+ * </pre>
+ * Varints are unsigned LEB128 (7 bits per byte, low bits first).
+ */
+public final class BusynessSnapshotCodec {
+
+    public static final int VERSION = 1;
+    public static final int SCORE_STEP = 40;
+
+    private static final List<String> LEVELS = List.of("low", "med", "high");
+    private static final int UNKNOWN_LEVEL = 3;
+
+    private BusynessSnapshotCodec() {
+    }
+
+    public record Entry(long zoneId, int score, String level) {
+    }
+
+    public record Snapshot(Instant generatedAt, List<Entry> zones) {
+    }
+
+    public static byte[] encode(List<ZoneBusynessDto> zones, Instant generatedAt) {
+        List<ZoneBusynessDto> sorted = zones.stream()
+                .sorted(Comparator.comparing(ZoneBusynessDto::getZoneId))
+                .toList();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16 + sorted.size() * 3);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(generatedAt.getEpochSecond());
+            out.writeShort(SCORE_STEP);
+            writeVarint(out, sorted.size());
+            long previousId = 0;
+            for (ZoneBusynessDto zone : sorted) {
+                writeVarint(out, zone.getZoneId() - previousId);
+                previousId = zone.getZoneId();
+                out.writeByte(quantize(zone.getBusynessScore()));
+                int level = zone.getBusynessLevel() == null ? -1 : LEVELS.indexOf(zone.getBusynessLevel());
+                out.writeByte(level < 0 ? UNKNOWN_LEVEL : level);
+            }
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static Snapshot decode(byte[] data) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            int version = Byte.toUnsignedInt(buffer.get());
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported busyness snapshot version " + version);
+            }
+            Instant generatedAt = Instant.ofEpochSecond(buffer.getLong());
+            int scoreStep = Short.toUnsignedInt(buffer.getShort());
+            int count = (int) readVarint(buffer);
+
+            List<Entry> zones = new ArrayList<>(count);
+            long zoneId = 0;
+            for (int i = 0; i < count; i++) {
+                zoneId += readVarint(buffer);
+                int score = Byte.toUnsignedInt(buffer.get()) * scoreStep;
+                int level = Byte.toUnsignedInt(buffer.get());
+                zones.add(new Entry(zoneId, score, level < LEVELS.size() ? LEVELS.get(level) : "unknown"));
+            }
+            return new Snapshot(generatedAt, zones);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated busyness snapshot", e);
+        }
+    }
+
+    static int quantize(double score) {
+        return (int) Math.max(0, Math.min(255, Math.round(score / SCORE_STEP)));
+    }
+
+    private static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in busyness snapshot");
+    }
+}
@@ -0,0 +1,165 @@
+package com.group4.smarttrip.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group4.smarttrip.dtos.ZoneBusynessDto;
+import com.group4.smarttrip.dtos.ZoneMetadataDto;
+import com.group4.smarttrip.entities.Zone;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the current busyness of all zones as an encoded, immutable snapshot so map refreshes are
+ * served from memory. The first request builds it; after that it is rebuilt every refresh
+ * interval. Nothing runs in the background until a client has asked for a snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+public class BusynessSnapshotService {
+
+    private final BusynessService busynessService;
+    private final ZoneService zoneService;
+    private final ObjectMapper objectMapper;
+
+    private static final Logger logger = LoggerFactory.getLogger(BusynessSnapshotService.class);
+
+    @Value("${smarttrip.busyness.stream.max-in-flight:16}")
+    private int maxInFlight;
+
+    private volatile EncodedBody current;
+    private volatile EncodedBody zoneMetadata;
+
+    /**
+     * A response body with its gzip variant and a strong ETag taken from a hash of the content.
+     */
+    public record EncodedBody(byte[] body, byte[] gzipBody, String etag) {
+
+        public static EncodedBody of(byte[] body) {
+            return new EncodedBody(body, gzip(body), "\"" + sha256(body) + "\"");
+        }
+
+        /** The gzip variant is a different representation, so it gets its own ETag. */
+        public String gzipEtag() {
+            return etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+    }
+
+    public EncodedBody getSnapshot() throws InterruptedException {
+        EncodedBody snapshot = current;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (this) {
+            if (current == null) {
+                current = buildSnapshot();
+            }
+            return current;
+        }
+    }
+
+    @Scheduled(initialDelayString = "${smarttrip.busyness.snapshot.refresh-interval:10m}",
+            fixedDelayString = "${smarttrip.busyness.snapshot.refresh-interval:10m}")
+    public void refreshSnapshot() {
+        if (current == null) {
+            return;
+        }
+        try {
+            current = buildSnapshot();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Keep serving the previous snapshot
+            logger.warn("Busyness snapshot refresh failed: {}", e.getMessage());
+        }
+    }
+
+    /** Zones only change with the place catalog, so the encoded list is kept until it is reloaded. */
+    public EncodedBody getZoneMetadata() {
+        EncodedBody metadata = zoneMetadata;
+        if (metadata == null) {
+            metadata = buildZoneMetadata();
+            zoneMetadata = metadata;
+        }
+        return metadata;
+    }
+
+    @EventListener(PlaceCatalogReloadedEvent.class)
+    public void clearZoneMetadata() {
+        zoneMetadata = null;
+    }
+
+    private EncodedBody buildZoneMetadata() {
+        List<ZoneMetadataDto> zones = zoneService.getAllZones().stream()
+                .map(zone -> new ZoneMetadataDto(zone.getZoneId(), zone.getZoneName(),
+                        zone.getCentralLat(), zone.getCentralLon()))
+                .toList();
+        try {
+            return EncodedBody.of(objectMapper.writeValueAsBytes(zones));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize zone metadata", e);
+        }
+    }
+
+    private EncodedBody buildSnapshot() throws InterruptedException {
+        long start = System.nanoTime();
+        List<Long> zoneIds = zoneService.getAllZones().stream()
+                .map(Zone::getZoneId)
+                .toList();
+        List<ZoneBusynessDto> zones = new ArrayList<>(zoneIds.size());
+        try {
+            busynessService.forEachCurrentBusyness(zoneIds, maxInFlight, zones::add);
+        } catch (IOException e) {
+            // The sink only adds to a list
+            throw new UncheckedIOException(e);
+        }
+
+        if (zones.size() < zoneIds.size()) {
+            Set<Long> missing = new HashSet<>(zoneIds);
+            zones.forEach(zone -> missing.remove(zone.getZoneId()));
+            logger.warn("Busyness snapshot is missing {} of {} zones whose prediction failed: {}",
+                    missing.size(), zoneIds.size(), missing);
+        }
+
+        EncodedBody snapshot = EncodedBody.of(BusynessSnapshotCodec.encode(zones, Instant.now()));
+        logger.info("Built busyness snapshot: {} zones, {} bytes ({} gzipped) in {} ms", zones.size(),
+                snapshot.body().length, snapshot.gzipBody().length, (System.nanoTime() - start) / 1_000_000);
+        return snapshot;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length / 2 + 32);
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            // 128 bits of the digest is plenty to tell versions apart
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -12,7 +12,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -22,6 +25,7 @@ public class DestinationService {
     private final DestinationMapper destinationMapper;
     private final TripRepository tripRepository;
 
+    @Transactional(readOnly = true)
     public List<DestinationDto> getDestinationsByTripId(Long tripId) {
         Trip trip = tripRepository.findById(tripId)
                 .orElseThrow(() -> new IllegalArgumentException("Trip not found: " + tripId));
@@ -46,6 +50,28 @@ public class DestinationService {
         return destinationMapper.toDto(destination);
     }
 
+    /**
+     * Saves several destinations in one transaction. With sequence ids and hibernate.jdbc.batch_size
+     * set, the inserts are flushed as JDBC batches instead of one round trip per destination.
+     */
+    @Transactional
+    public List<DestinationDto> createDestinations(List<CreateDestinationRequest> requests) {
+        Map<Long, Trip> trips = new HashMap<>();
+        List<Destination> destinations = new ArrayList<>(requests.size());
+        for (CreateDestinationRequest request : requests) {
+            Trip trip = trips.computeIfAbsent(request.getTripId(), tripId -> tripRepository.findById(tripId)
+                    .orElseThrow(() -> new IllegalArgumentException("Trip not found: " + tripId)));
+
+            Destination destination = destinationMapper.toEntity(request);
+            destination.setTrip(trip);
+            destinations.add(destination);
+        }
+
+        return destinationRepository.saveAll(destinations).stream()
+                .map(destinationMapper::toDto)
+                .toList();
+    }
+
     @Transactional
     public void deleteDestination(Long destinationId) {
         destinationRepository.findById(destinationId)
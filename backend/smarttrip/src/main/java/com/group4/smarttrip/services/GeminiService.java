@@ -4,27 +4,69 @@ package com.group4.smarttrip.services;
 import com.google.genai.Client;
 import com.google.genai.errors.ApiException;
 import com.google.genai.types.GenerateContentResponse;
-import jakarta.annotation.PostConstruct;
+import com.google.genai.types.HttpOptions;
+import com.group4.smarttrip.utils.Bulkhead;
+import com.group4.smarttrip.utils.BulkheadFullException;
+import com.group4.smarttrip.utils.LogSampler;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.locks.ReentrantLock;
+
 @Service
+@RequiredArgsConstructor
 public class GeminiService {
 
+    private static final Logger logger = LoggerFactory.getLogger(GeminiService.class);
+    private static final LogSampler responseSampler = new LogSampler(20);
+
     @Value("${gemini.api.key}")
     private String geminiApiKey;
 
-    private Client geminiClient;
+    // Empty uses the SDK default; set to point the client at a local stand-in
+    @Value("${gemini.api.base-url:}")
+    private String geminiBaseUrl;
+
+    private final ObservationRegistry observationRegistry;
+    private final Bulkhead geminiBulkhead;
 
-    @PostConstruct
-    public void initGeminiClient() {
-        this.geminiClient = Client.builder().apiKey(geminiApiKey).build();
+    // Built on first use: the SDK client is slow to create and most requests never need it
+    private volatile Client geminiClient;
+    private final ReentrantLock clientLock = new ReentrantLock();
+
+    private Client geminiClient() {
+        Client client = geminiClient;
+        if (client != null) {
+            return client;
+        }
+        clientLock.lock();
+        try {
+            if (geminiClient == null) {
+                Client.Builder builder = Client.builder().apiKey(geminiApiKey);
+                if (!geminiBaseUrl.isBlank()) {
+                    builder.httpOptions(HttpOptions.builder().baseUrl(geminiBaseUrl).build());
+                }
+                geminiClient = builder.build();
+            }
+            return geminiClient;
+        } catch (RuntimeException e) {
+            logger.error("Failed to initialize Gemini client", e);
+            return null;
+        } finally {
+            clientLock.unlock();
+        }
     }
 
     public String callGemini(String userInput) {
 
-        if (geminiClient == null) {
-            System.out.println("Gemini client was not initialized properly.");
+        Client client = geminiClient();
+        if (client == null) {
+            logger.error("Gemini client was not initialized properly.");
             return null;
         }
 
@@ -33,22 +75,29 @@ public class GeminiService {
             String prompt = buildPrompt(userInput);
 
             // Make the API call
-            GenerateContentResponse response = geminiClient.models.generateContent("gemini-2.5-flash", prompt, null);
+            GenerateContentResponse response = geminiBulkhead.call(() ->
+                    Observation.createNotStarted("smarttrip.gemini.call", observationRegistry)
+                            .observe(() -> client.models.generateContent("gemini-2.5-flash", prompt, null)));
 
             String resultText = response.text();
             if (resultText != null && !resultText.isBlank()) {
-                System.out.println("Gemini response: " + resultText);
+                if (logger.isDebugEnabled() && responseSampler.sample()) {
+                    logger.debug("Gemini response: {}", resultText);
+                }
                 return resultText;
             } else {
-                System.err.println("Gemini response was empty.");
+                logger.warn("Gemini response was empty.");
                 return null;
             }
+        } catch (BulkheadFullException e) {
+            // Let the caller answer 503 rather than treat it as a bad response
+            throw e;
         } catch (ApiException e) {
-            System.err.println("Gemini API error: " + e.getMessage());
+            logger.error("Gemini API error: {}", e.getMessage());
             // Optionally, inspect e.getStatusCode() or e.getRetryDelay() for 429 handling.
             return null;
         } catch (Exception e) {
-            System.err.println("Unexpected error calling Gemini: " + e.getMessage());
+            logger.error("Unexpected error calling Gemini", e);
             return null;
         }
     }
@@ -0,0 +1,184 @@
+package com.group4.smarttrip.services;
+
+import com.group4.smarttrip.entities.Place;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Chooses the places of an itinerary as a multiple-choice knapsack. Durations are rounded up to
+ * 10-minute units and each requested category is one group, from which any number of places may
+ * be taken (at most one for single-visit categories). The choice maximises, in this order:
+ * <ol>
+ *   <li>the number of requested categories covered,</li>
+ *   <li>the time used within the budget,</li>
+ *   <li>diversity: places spread over the categories rather than stacked in one.</li>
+ * </ol>
+ * A small count-maximising knapsack per group gives the best way to fill each exact number of
+ * units from that group; a second one over the groups combines them. Both run on primitive arrays
+ * of budget + 1 entries. Ties go to earlier candidates, so the result only depends on the order
+ * of the buckets.
+ */
+final class ItinerarySelector {
+
+    static final int MINUTES_PER_UNIT = 10;
+
+    private static final long INFEASIBLE = Long.MIN_VALUE;
+    private static final int COVERAGE_SHIFT = 32;
+    private static final int TIME_SHIFT = 16;
+
+    private ItinerarySelector() {
+    }
+
+    /**
+     * @param buckets    candidates per requested category, in preference order
+     * @param singleVisit whether at most one place may be taken from the bucket at the same index
+     * @param budgetHours the length of the trip
+     */
+    static List<Place> select(List<List<Place>> buckets, boolean[] singleVisit, double budgetHours) {
+        int budget = (int) Math.floor(budgetHours * 60 / MINUTES_PER_UNIT + 1e-9);
+        if (budget <= 0 || buckets.isEmpty()) {
+            return List.of();
+        }
+
+        int groups = buckets.size();
+        List<List<Place>> candidates = distinctByName(buckets);
+        GroupTable[] tables = new GroupTable[groups];
+        long[][] best = new long[groups + 1][budget + 1];
+        int[][] taken = new int[groups + 1][budget + 1];
+        Arrays.fill(best[0], INFEASIBLE);
+        best[0][0] = 0;
+
+        for (int g = 0; g < groups; g++) {
+            GroupTable table = GroupTable.build(candidates.get(g), singleVisit[g], budget);
+            tables[g] = table;
+            long[] previous = best[g];
+            long[] current = best[g + 1];
+            int[] choice = taken[g + 1];
+            for (int units = 0; units <= budget; units++) {
+                // Leaving the category out
+                long bestValue = previous[units];
+                int bestUnits = 0;
+                for (int used = 1; used <= units; used++) {
+                    int count = table.count[used];
+                    if (count == 0 || previous[units - used] == INFEASIBLE) continue;
+                    long value = previous[units - used] + (1L << COVERAGE_SHIFT)
+                            + ((long) used << TIME_SHIFT) + diversity(count);
+                    if (value > bestValue) {
+                        bestValue = value;
+                        bestUnits = used;
+                    }
+                }
+                current[units] = bestValue;
+                choice[units] = bestUnits;
+            }
+        }
+
+        int units = 0;
+        for (int u = 1; u <= budget; u++) {
+            if (best[groups][u] > best[groups][units]) {
+                units = u;
+            }
+        }
+
+        List<Place> selected = new ArrayList<>();
+        for (int g = groups; g > 0; g--) {
+            int used = taken[g][units];
+            if (used > 0) {
+                tables[g - 1].collect(used, selected);
+                units -= used;
+            }
+        }
+        // Back to the order of the requested categories
+        List<Place> ordered = new ArrayList<>(selected.size());
+        for (List<Place> bucket : candidates) {
+            for (Place place : bucket) {
+                if (selected.contains(place)) {
+                    ordered.add(place);
+                }
+            }
+        }
+        return ordered;
+    }
+
+    static int units(double hours) {
+        return Math.max(1, (int) Math.ceil(hours * 60 / MINUTES_PER_UNIT - 1e-9));
+    }
+
+    /** 16 for the first place of a category, 8 for the second and so on: more and evenly spread stops. */
+    private static long diversity(int count) {
+        return 32 - (32 >> Math.min(count, 6));
+    }
+
+    /** The same venue can be listed in several zones; only its first appearance is kept. */
+    private static List<List<Place>> distinctByName(List<List<Place>> buckets) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> names = new HashSet<>();
+        List<List<Place>> distinct = new ArrayList<>(buckets.size());
+        for (List<Place> bucket : buckets) {
+            List<Place> kept = new ArrayList<>(bucket.size());
+            for (Place place : bucket) {
+                if (ids.add(place.getPlaceId()) && names.add(place.getPlaceName())) {
+                    kept.add(place);
+                }
+            }
+            distinct.add(kept);
+        }
+        return distinct;
+    }
+
+    /**
+     * For one category: the most places that fill exactly u units (0 when none do), and which
+     * places those are.
+     */
+    private static final class GroupTable {
+
+        private final List<Place> places;
+        private final int[] weights;
+        private final int[] count;
+        // took[i][u]: place i was added on the way to the best count for u after considering places 0..i
+        private final boolean[][] took;
+
+        private GroupTable(List<Place> places, int budget) {
+            this.places = places;
+            this.weights = new int[places.size()];
+            this.count = new int[budget + 1];
+            this.took = new boolean[places.size()][budget + 1];
+        }
+
+        static GroupTable build(List<Place> places, boolean singleVisit, int budget) {
+            GroupTable table = new GroupTable(places, budget);
+            int[] count = table.count;
+            Arrays.fill(count, -1);
+            count[0] = 0;
+            for (int i = 0; i < places.size(); i++) {
+                int weight = units(places.get(i).getEstimatedDuration());
+                table.weights[i] = weight;
+                for (int u = budget; u >= weight; u--) {
+                    int from = count[u - weight];
+                    if (from < 0 || (singleVisit && from > 0)) continue;
+                    if (from + 1 > count[u]) {
+                        count[u] = from + 1;
+                        table.took[i][u] = true;
+                    }
+                }
+            }
+            for (int u = 0; u <= budget; u++) {
+                count[u] = Math.max(0, count[u]);
+            }
+            return table;
+        }
+
+        void collect(int units, List<Place> into) {
+            for (int i = places.size() - 1; i >= 0 && units > 0; i--) {
+                if (took[i][units]) {
+                    into.add(places.get(i));
+                    units -= weights[i];
+                }
+            }
+        }
+    }
+}
@@ -5,13 +5,20 @@ import com.group4.smarttrip.entities.Place;
 import com.group4.smarttrip.entities.Zone;
 import com.group4.smarttrip.repositories.PlaceRepository;
 import com.group4.smarttrip.repositories.ZoneRepository;
+import com.group4.smarttrip.utils.DistanceMatrix;
+import com.group4.smarttrip.utils.GeoUtils;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-
-import static com.group4.smarttrip.utils.GeoUtils.haversineDistance;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +26,9 @@ public class ItineraryService {
     private final PlaceRepository placeRepository;
     private final ZoneRepository zoneRepository;
     private final ZoneService zoneService;
+    private final ObservationRegistry observationRegistry;
+    private final DistanceMatrix distanceMatrix;
+    private final ItinerarySkeletonCache skeletonCache;
 
     private static final Set<String> SINGLE_PLACE_CATEGORIES = Set.of(
             "cafe", "fast_food", "food_court", "ice_cream", "restaurant", "bakery", "spa",
@@ -30,85 +40,215 @@ public class ItineraryService {
     );
 
     private static final List<Long> DEFAULT_ZONE_IDS = List.of(14L, 25L, 22L);
-    private static final Random RANDOM = new Random();
+    // Distance matrix cluster of DEFAULT_ZONE_IDS; a named zone's cluster is keyed by its zone id
+    static final long DEFAULT_CLUSTER = -1;
+    // Candidate places across all lookups above which the zones are sampled in parallel
+    @Value("${smarttrip.itinerary.parallel-threshold:20000}")
+    private int parallelThreshold = 20_000;
 
+    /**
+     * A random itinerary for the preferences: one of the cached variants for equivalent
+     * preferences when there are enough of them, otherwise a newly generated one.
+     */
+    // Read-only: all place and zone lookups share one replica connection
+    @Transactional(readOnly = true)
     public List<Place> generateItinerary(UserPreferences preferences) {
-        List<Place> selectedItinerary = new ArrayList<>();
+        ItinerarySkeletonCache.Key key = ItinerarySkeletonCache.Key.of(preferences);
+        Optional<List<Place>> cached = skeletonCache.pick(key, ThreadLocalRandom.current())
+                .flatMap(skeleton -> loadSkeleton(key, skeleton));
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        List<Place> itinerary = generateItinerary(preferences, ThreadLocalRandom.current().nextLong());
+        skeletonCache.offer(key, ItinerarySkeletonCache.Skeleton.of(itinerary));
+        return itinerary;
+    }
+
+    /** The same preferences, seed and place catalog always give the same itinerary. */
+    @Transactional(readOnly = true)
+    public List<Place> generateItinerary(UserPreferences preferences, long seed) {
+        return Observation.createNotStarted("smarttrip.itinerary.generate", observationRegistry)
+                .observe(() -> buildItinerary(preferences, seed));
+    }
+
+    private List<Place> buildItinerary(UserPreferences preferences, long seed) {
+        List<String> categories = preferences.getPlaceCategory() == null
+                ? List.of()
+                : List.copyOf(new LinkedHashSet<>(preferences.getPlaceCategory()));
 
         // 1) Determine candidate zones
-        List<Long> candidateZoneIds = resolveZoneCandidates(preferences.getZoneName());
-
-        // 2) Gather all place candidates by zone and category
-        List<Place> finalCandidates = new ArrayList<>();
-        for (long zoneId : candidateZoneIds) {
-            for (String category : preferences.getPlaceCategory()) {
-                List<Place> candidates = placeRepository.findByZone_ZoneIdAndCategory(zoneId, category);
-                Collections.shuffle(candidates, RANDOM);
-                if (!candidates.isEmpty()) {
-                    if (SINGLE_PLACE_CATEGORIES.contains(category)) {
-                        finalCandidates.add(candidates.get(0));
-                    } else {
-                        finalCandidates.addAll(candidates.subList(0, Math.min(3, candidates.size())));
-                    }
-                }
+        Optional<Zone> zone = resolveZone(preferences.getZoneName());
+        List<Long> candidateZoneIds = zone.map(this::nearestZoneIds).orElse(DEFAULT_ZONE_IDS);
+        long clusterKey = zone.map(Zone::getZoneId).orElse(DEFAULT_CLUSTER);
+
+        // 2) Gather candidates into one bucket per requested category
+        List<List<Place>> buckets = gatherCandidates(candidateZoneIds, categories, new SplittableRandom(seed));
+
+        // 3) Select places that fit in the time budget
+        boolean[] singleVisit = new boolean[categories.size()];
+        for (int i = 0; i < singleVisit.length; i++) {
+            singleVisit[i] = SINGLE_PLACE_CATEGORIES.contains(categories.get(i));
+        }
+        List<Place> selectedItinerary = ItinerarySelector.select(buckets, singleVisit, preferences.getDuration());
+
+        return arrangeVisitingSequence(selectedItinerary, preferences.getStartingTime(),
+                distanceMatrix.cluster(clusterKey));
+    }
+
+    /**
+     * Looks up every zone and category (from the query cache after the first request) and samples
+     * each result in a single pass: one place for single-visit categories, up to three otherwise.
+     * Lookups stay on this thread, which holds the transaction; the sampling is spread over the
+     * fork-join pool when there are enough places to make that worthwhile. Each zone samples with
+     * its own generator split off in zone order, so the result does not depend on the scheduling.
+     */
+    private List<List<Place>> gatherCandidates(List<Long> zoneIds, List<String> categories, SplittableRandom random) {
+        int zoneCount = zoneIds.size();
+        List<List<List<Place>>> fetched = new ArrayList<>(zoneCount);
+        SplittableRandom[] zoneRandoms = new SplittableRandom[zoneCount];
+        long totalPlaces = 0;
+        for (int zone = 0; zone < zoneCount; zone++) {
+            long zoneId = zoneIds.get(zone);
+            List<List<Place>> byCategory = new ArrayList<>(categories.size());
+            for (String category : categories) {
+                List<Place> candidates = observeRepository("PlaceRepository", "findByZone_ZoneIdAndCategory",
+                        () -> placeRepository.findByZone_ZoneIdAndCategory(zoneId, category));
+                byCategory.add(candidates);
+                totalPlaces += candidates.size();
             }
+            fetched.add(byCategory);
+            zoneRandoms[zone] = random.split();
         }
 
-        // 3) Select places that fit in the time budget
-        double totalTimeUsed = 0.0;
-        Set<String> includedCategories = new HashSet<>();
-        Set<Long> usedPlaceIds = new HashSet<>();
-        Set<String> usedPlaceNames = new HashSet<>();
-
-        // First pass: ensure each requested category is represented
-        for (String category : preferences.getPlaceCategory()) {
-            Optional<Place> match = finalCandidates.stream()
-                    .filter(p -> p.getCategory().equals(category) && !usedPlaceIds.contains(p.getPlaceId()))
-                    .findFirst();
-            if (match.isPresent()) {
-                Place p = match.get();
-                double duration = p.getEstimatedDuration();
-                if (totalTimeUsed + duration <= preferences.getDuration()) {
-                    selectedItinerary.add(p);
-                    usedPlaceIds.add(p.getPlaceId());
-                    usedPlaceNames.add(p.getPlaceName());
-                    totalTimeUsed += duration;
-                    includedCategories.add(category);
-                }
+        List<List<List<Place>>> sampled = new ArrayList<>(Collections.nCopies(zoneCount, null));
+        IntStream zones = IntStream.range(0, zoneCount);
+        if (totalPlaces >= parallelThreshold) {
+            zones = zones.parallel();
+        }
+        zones.forEach(zone -> sampled.set(zone, sampleZone(fetched.get(zone), categories, zoneRandoms[zone])));
+
+        List<List<Place>> buckets = new ArrayList<>(categories.size());
+        for (int category = 0; category < categories.size(); category++) {
+            List<Place> bucket = new ArrayList<>();
+            for (List<List<Place>> zone : sampled) {
+                bucket.addAll(zone.get(category));
             }
+            buckets.add(bucket);
+        }
+        return buckets;
+    }
+
+    private static List<List<Place>> sampleZone(List<List<Place>> byCategory, List<String> categories,
+                                                SplittableRandom random) {
+        List<List<Place>> samples = new ArrayList<>(byCategory.size());
+        for (int category = 0; category < byCategory.size(); category++) {
+            int size = SINGLE_PLACE_CATEGORIES.contains(categories.get(category)) ? 1 : 3;
+            samples.add(sample(byCategory.get(category), size, random));
         }
+        return samples;
+    }
 
-        // Second pass: fill remaining time with other non-single-use POIs
-        for (Place place : finalCandidates) {
-            if (totalTimeUsed >= preferences.getDuration()) break;
-            if (usedPlaceIds.contains(place.getPlaceId()) || usedPlaceNames.contains(place.getPlaceName())) continue;
-            if (SINGLE_PLACE_CATEGORIES.contains(place.getCategory())) continue;
+    /** Uniform sample in random order, in one pass and without copying or shuffling the list. */
+    static List<Place> sample(List<Place> places, int size, SplittableRandom random) {
+        int n = places.size();
+        if (n == 0) {
+            return List.of();
+        }
+        Place[] reservoir = new Place[Math.min(size, n)];
+        for (int i = 0; i < n; i++) {
+            if (i < reservoir.length) {
+                reservoir[i] = places.get(i);
+            } else {
+                int slot = random.nextInt(i + 1);
+                if (slot < reservoir.length) {
+                    reservoir[slot] = places.get(i);
+                }
+            }
+        }
+        // The fill order favours early places in the first slots, so mix the few that were kept
+        for (int i = reservoir.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Place swap = reservoir[i];
+            reservoir[i] = reservoir[j];
+            reservoir[j] = swap;
+        }
+        return Arrays.asList(reservoir);
+    }
 
-            double duration = place.getEstimatedDuration();
-            if (totalTimeUsed + duration <= preferences.getDuration()) {
-                selectedItinerary.add(place);
-                usedPlaceIds.add(place.getPlaceId());
-                usedPlaceNames.add(place.getPlaceName());
-                totalTimeUsed += duration;
+    /** The skeleton's places from the entity cache; evicts the key when the catalog no longer matches. */
+    private Optional<List<Place>> loadSkeleton(ItinerarySkeletonCache.Key key, ItinerarySkeletonCache.Skeleton skeleton) {
+        List<Place> places = new ArrayList<>(skeleton.placeIds().length);
+        for (long placeId : skeleton.placeIds()) {
+            Optional<Place> place = placeRepository.findById(placeId);
+            if (place.isEmpty()) {
+                skeletonCache.evict(key);
+                return Optional.empty();
             }
+            places.add(place.get());
         }
+        if (!skeleton.matches(places)) {
+            skeletonCache.evict(key);
+            return Optional.empty();
+        }
+        return Optional.of(places);
+    }
+
+    private Optional<Zone> resolveZone(String zoneName) {
+        String name = normalizeZoneName(zoneName);
+        if (name == null) return Optional.empty();
+
+        return observeRepository("ZoneRepository", "findByZoneName", () -> zoneService.getZoneByName(name));
+    }
+
+    /**
+     * The zone name as it is looked up: trimmed, null when blank. The lookup itself is exact, so
+     * the itinerary cache keys on this and nothing looser.
+     */
+    static String normalizeZoneName(String zoneName) {
+        if (zoneName == null || zoneName.isBlank()) return null;
+        return zoneName.trim();
+    }
 
-        return arrangeVisitingSequence(selectedItinerary, preferences.getStartingTime());
+    private List<Long> nearestZoneIds(Zone zone) {
+        return observeRepository("ZoneRepository", "findAll",
+                () -> zoneService.getTop3NearestZones(zone.getCentralLat(), zone.getCentralLon()))
+                .stream()
+                .map(Zone::getZoneId)
+                .collect(Collectors.toList());
     }
 
-    private List<Long> resolveZoneCandidates(String zoneName) {
-        if (zoneName == null) return DEFAULT_ZONE_IDS;
+    /**
+     * Candidate zones by distance matrix cluster key, for every itinerary this service can build:
+     * each zone with its nearest zones, and the default zones.
+     */
+    public Map<Long, List<Long>> zoneClusters() {
+        Map<Long, List<Long>> clusters = new LinkedHashMap<>();
+        clusters.put(DEFAULT_CLUSTER, DEFAULT_ZONE_IDS);
+        for (Zone zone : zoneService.getAllZones()) {
+            clusters.put(zone.getZoneId(), nearestZoneIds(zone));
+        }
+        return clusters;
+    }
 
-        return zoneService.getZoneByName(zoneName)
-                .map(zone -> zoneService.getTop3NearestZones(zone.getCentralLat(), zone.getCentralLon())
-                        .stream()
-                        .map(Zone::getZoneId)
-                        .collect(Collectors.toList()))
-                .orElse(DEFAULT_ZONE_IDS);
+    private <T> T observeRepository(String repository, String method, Supplier<T> call) {
+        return Observation.createNotStarted("smarttrip.repository", observationRegistry)
+                .contextualName(repository + "." + method)
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", method)
+                .observe(call);
     }
 
 
-    private List<Place> arrangeVisitingSequence(List<Place> places, int startHour) {
+    List<Place> arrangeVisitingSequence(List<Place> places, int startHour) {
+        return arrangeVisitingSequence(places, startHour, null);
+    }
+
+    /**
+     * Orders the places by walking distance along the street grid, read from the cluster's
+     * precomputed matrix when it has every place and computed on the fly otherwise.
+     */
+    List<Place> arrangeVisitingSequence(List<Place> places, int startHour, DistanceMatrix.Cluster cluster) {
         if (places == null || places.isEmpty()) return Collections.emptyList();
 
         List<Place> foodPlaces = places.stream()
@@ -122,20 +262,31 @@ public class ItineraryService {
         // Sort non-food places based on proximity using greedy nearest neighbor
         List<Place> sequence = new ArrayList<>();
         if (!nonFoodPlaces.isEmpty()) {
-            Place current = nonFoodPlaces.remove(0);
-            sequence.add(current);
+            int[] rows = matrixRows(cluster, nonFoodPlaces);
+            boolean[] visited = new boolean[nonFoodPlaces.size()];
+            int current = 0;
+            visited[current] = true;
+            sequence.add(nonFoodPlaces.get(current));
 
-            while (!nonFoodPlaces.isEmpty()) {
-                Place finalCurrent = current;
-                Place next = nonFoodPlaces.stream()
-                        .min(Comparator.comparingDouble(p -> haversineDistance(finalCurrent.getLat(), finalCurrent.getLon(), p.getLat(), p.getLon())))
-                        .orElse(null);
-
-                if (next == null) break;
+            while (sequence.size() < nonFoodPlaces.size()) {
+                Place from = nonFoodPlaces.get(current);
+                int nextIndex = -1;
+                double nextDistance = Double.MAX_VALUE;
+                for (int i = 0; i < nonFoodPlaces.size(); i++) {
+                    if (visited[i]) continue;
+                    Place p = nonFoodPlaces.get(i);
+                    double distance = rows != null
+                            ? cluster.distance(rows[current], rows[i])
+                            : GeoUtils.gridDistance(from.getLat(), from.getLon(), p.getLat(), p.getLon());
+                    if (distance < nextDistance) {
+                        nextDistance = distance;
+                        nextIndex = i;
+                    }
+                }
 
-                sequence.add(next);
-                nonFoodPlaces.remove(next);
-                current = next;
+                visited[nextIndex] = true;
+                sequence.add(nonFoodPlaces.get(nextIndex));
+                current = nextIndex;
             }
         }
 
@@ -163,4 +314,15 @@ public class ItineraryService {
 
         return finalItinerary;
     }
+
+    /** Matrix rows of the places, or null when there is no matrix or it lacks one of them. */
+    private static int[] matrixRows(DistanceMatrix.Cluster cluster, List<Place> places) {
+        if (cluster == null) return null;
+        int[] rows = new int[places.size()];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = cluster.indexOf(places.get(i).getPlaceId());
+            if (rows[i] < 0) return null;
+        }
+        return rows;
+    }
 }
@@ -0,0 +1,123 @@
+package com.group4.smarttrip.services;
+
+import com.group4.smarttrip.dtos.UserPreferences;
+import com.group4.smarttrip.entities.Place;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.random.RandomGenerator;
+
+/**
+ * Generated itineraries by canonical preferences, kept as skeletons (place ids and start offsets)
+ * so the places come back from the entity cache. The first requests for a key each generate an
+ * itinerary; once the configured number of them were generated, requests pick one of the distinct
+ * variants at random instead of querying and routing again. Cleared when the place catalog is reloaded.
+ */
+@Component
+public class ItinerarySkeletonCache {
+
+    public static final String CACHE_NAME = "itineraryCache";
+
+    private final Cache cache;
+    private final int variants;
+
+    public ItinerarySkeletonCache(CacheManager cacheManager,
+                                  @Value("${smarttrip.itinerary.cache.variants:5}") int variants) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME), CACHE_NAME);
+        this.variants = variants;
+    }
+
+    /**
+     * Preferences that give equivalent itineraries: the trip name is dropped, the zone name is
+     * normalized as the zone lookup does it and categories are sorted.
+     */
+    public record Key(String zoneName, int startingTime, int duration, List<String> categories) {
+
+        public static Key of(UserPreferences preferences) {
+            List<String> categories = preferences.getPlaceCategory() == null
+                    ? List.of()
+                    : List.copyOf(new TreeSet<>(preferences.getPlaceCategory()));
+            return new Key(ItineraryService.normalizeZoneName(preferences.getZoneName()),
+                    preferences.getStartingTime(), preferences.getDuration(), categories);
+        }
+    }
+
+    /** Stops in visiting order with their start in minutes after the trip starts. */
+    public record Skeleton(long[] placeIds, int[] offsetMinutes) {
+
+        public static Skeleton of(List<Place> itinerary) {
+            long[] placeIds = new long[itinerary.size()];
+            int[] offsetMinutes = new int[itinerary.size()];
+            double hours = 0;
+            for (int i = 0; i < placeIds.length; i++) {
+                placeIds[i] = itinerary.get(i).getPlaceId();
+                offsetMinutes[i] = (int) Math.round(hours * 60);
+                hours += itinerary.get(i).getEstimatedDuration();
+            }
+            return new Skeleton(placeIds, offsetMinutes);
+        }
+
+        /** Whether the places still have the durations the offsets were computed from. */
+        public boolean matches(List<Place> places) {
+            return Arrays.equals(offsetMinutes, of(places).offsetMinutes);
+        }
+    }
+
+    /** A cached variant chosen at random, or empty while fewer than the configured variants were generated. */
+    public Optional<Skeleton> pick(Key key, RandomGenerator random) {
+        Variants cached = cache.get(key, Variants.class);
+        return cached == null ? Optional.empty() : cached.pick(variants, random);
+    }
+
+    public void offer(Key key, Skeleton skeleton) {
+        if (skeleton.placeIds().length > 0) {
+            cache.get(key, Variants::new).add(skeleton, variants);
+        }
+    }
+
+    /** Drops the variants of a key, e.g. when one of them refers to a place that no longer exists. */
+    public void evict(Key key) {
+        cache.evict(key);
+    }
+
+    @EventListener(PlaceCatalogReloadedEvent.class)
+    public void clear() {
+        cache.clear();
+    }
+
+    private static final class Variants {
+
+        private final List<Skeleton> skeletons = new ArrayList<>();
+        // Small catalogs can keep producing the same itinerary, so count duplicates too
+        private int generated;
+
+        synchronized Optional<Skeleton> pick(int variants, RandomGenerator random) {
+            if (generated < variants || skeletons.isEmpty()) {
+                return Optional.empty();
+            }
+            return Optional.of(skeletons.get(random.nextInt(skeletons.size())));
+        }
+
+        synchronized void add(Skeleton skeleton, int variants) {
+            if (generated >= variants) {
+                return;
+            }
+            generated++;
+            for (Skeleton cached : skeletons) {
+                if (Arrays.equals(cached.placeIds(), skeleton.placeIds())) {
+                    return;
+                }
+            }
+            skeletons.add(skeleton);
+        }
+    }
+}
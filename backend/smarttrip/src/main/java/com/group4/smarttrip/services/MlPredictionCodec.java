@@ -0,0 +1,83 @@
+package com.group4.smarttrip.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group4.smarttrip.dtos.MlPredictionBatchRequest;
+import com.group4.smarttrip.dtos.MlPredictionBatchResponse;
+import com.group4.smarttrip.dtos.MlPredictionRequest;
+import com.group4.smarttrip.dtos.MlPredictionResponse;
+import com.group4.smarttrip.dtos.WeatherDto;
+import com.group4.smarttrip.entities.Zone;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Builds and (de)serializes /predict/xgb payloads with the application's shared ObjectMapper.
+ */
+@Component
+@RequiredArgsConstructor
+public class MlPredictionCodec {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final ObjectMapper objectMapper;
+
+    public MlPredictionRequest toRequest(Zone zone, WeatherDto weather, LocalDateTime time) {
+        return new MlPredictionRequest(
+                time.format(TIMESTAMP_FORMAT),
+                zone.getZoneId(),
+                zone.getZoneName(),
+                new MlPredictionRequest.Weather(
+                        weather.getTemperature(),
+                        weather.getPrecipitation(),
+                        weather.getWeatherId()
+                )
+        );
+    }
+
+    public byte[] encode(MlPredictionRequest request) throws IOException {
+        return objectMapper.writeValueAsBytes(request);
+    }
+
+    public double decodeScore(byte[] responseBody) throws IOException {
+        if (responseBody == null || responseBody.length == 0) {
+            throw new IOException("ML service returned an empty response");
+        }
+
+        MlPredictionResponse response = objectMapper.readValue(responseBody, MlPredictionResponse.class);
+        if (response.busynessScore() == null) {
+            throw new IOException("ML service returned no busyness score: " + response.error());
+        }
+        return response.busynessScore();
+    }
+
+    public byte[] encodeBatch(List<MlPredictionRequest> requests) throws IOException {
+        return objectMapper.writeValueAsBytes(new MlPredictionBatchRequest(requests));
+    }
+
+    /** Scores from /predict/xgb/batch, in request order; fails unless there is one per request. */
+    public double[] decodeScores(byte[] responseBody, int expected) throws IOException {
+        if (responseBody == null || responseBody.length == 0) {
+            throw new IOException("ML service returned an empty response");
+        }
+
+        MlPredictionBatchResponse response = objectMapper.readValue(responseBody, MlPredictionBatchResponse.class);
+        List<Double> scores = response.busynessScores();
+        if (scores == null || scores.size() != expected) {
+            throw new IOException("ML service returned " + (scores == null ? "no" : scores.size())
+                    + " busyness scores for " + expected + " requests: " + response.error());
+        }
+        double[] result = new double[expected];
+        for (int i = 0; i < expected; i++) {
+            if (scores.get(i) == null) {
+                throw new IOException("ML service returned no busyness score for request " + i);
+            }
+            result[i] = scores.get(i);
+        }
+        return result;
+    }
+}
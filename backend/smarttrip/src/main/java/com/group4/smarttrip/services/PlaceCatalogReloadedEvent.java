@@ -0,0 +1,7 @@
+package com.group4.smarttrip.services;
+
+import java.time.Instant;
+
+/** Published after places and zones were reloaded into the database and their caches evicted. */
+public record PlaceCatalogReloadedEvent(Instant reloadedAt) {
+}
@@ -3,17 +3,19 @@ package com.group4.smarttrip.services;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.group4.smarttrip.dtos.CreateDestinationRequest;
 import com.group4.smarttrip.dtos.CreateTripRequest;
+import com.group4.smarttrip.dtos.TripDetailsResponse;
 import com.group4.smarttrip.dtos.TripDto;
 import com.group4.smarttrip.dtos.UserPreferences;
 import com.group4.smarttrip.entities.Place;
 import com.group4.smarttrip.mappers.TripMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Random;
 
 @Service
 @RequiredArgsConstructor
@@ -25,15 +27,21 @@ public class SmartItineraryService {
     private final DestinationService destinationService;
     private final ObjectMapper objectMapper;
     private final TripMapper tripMapper;
+    private final ObservationRegistry observationRegistry;
 
-    public Map<String, Object> generateSmartTrip(String userInput, Long userId) throws Exception {
+    public TripDetailsResponse generateSmartTrip(String userInput, Long userId) throws Exception {
+        return Observation.createNotStarted("smarttrip.smart-itinerary", observationRegistry)
+                .observeChecked(() -> buildSmartTrip(userInput, userId));
+    }
+
+    private TripDetailsResponse buildSmartTrip(String userInput, Long userId) throws Exception {
         // Step 1: Use Gemini to extract preferences
-        String rawResponse = geminiService.callGemini(userInput);
-        String preferenceJson = extractJsonBlock(rawResponse);
-        UserPreferences preferences = objectMapper.readValue(preferenceJson, UserPreferences.class);
+        String rawResponse = stage("gemini", () -> geminiService.callGemini(userInput));
+        UserPreferences preferences = stage("parse-preferences", () ->
+                objectMapper.readValue(extractJsonBlock(rawResponse), UserPreferences.class));
 
         // Step 2: Generate itinerary
-        List<Place> itinerary = itineraryService.generateItinerary(preferences);
+        List<Place> itinerary = stage("generate-itinerary", () -> itineraryService.generateItinerary(preferences));
         if (itinerary.isEmpty()) {
             throw new IllegalStateException("No matching destinations found for this input.");
         }
@@ -53,23 +61,33 @@ public class SmartItineraryService {
         tripRequest.setEndDateTime(endDateTime);
         tripRequest.setNumTravellers(1);
 
-        TripDto createdTrip = tripService.createTrip(tripMapper.toEntity(tripRequest), userId);
+        TripDto createdTrip = stage("create-trip", () -> tripService.createTrip(tripMapper.toEntity(tripRequest), userId));
         Long tripId = createdTrip.getTripId();
 
         // Step 4: Save destinations with timing
-        double timePassed = 0.0;
-        for (Place p : itinerary) {
-            LocalDateTime rawTime = startDateTime.plusMinutes((long) (timePassed * 60));
-            LocalDateTime roundedTime = roundUpToNearest10Minutes(rawTime);
-            CreateDestinationRequest destReq = new CreateDestinationRequest(
-                    tripId, p.getPlaceName(), p.getLat(), p.getLon(), roundedTime
-            );
-            destinationService.createDestination(destReq);
-            timePassed += p.getEstimatedDuration();
-        }
+        stage("insert-destinations", () -> {
+            List<CreateDestinationRequest> destinations = new ArrayList<>(itinerary.size());
+            double timePassed = 0.0;
+            for (Place p : itinerary) {
+                LocalDateTime rawTime = startDateTime.plusMinutes((long) (timePassed * 60));
+                LocalDateTime roundedTime = roundUpToNearest10Minutes(rawTime);
+                destinations.add(new CreateDestinationRequest(
+                        tripId, p.getPlaceName(), p.getLat(), p.getLon(), roundedTime
+                ));
+                timePassed += p.getEstimatedDuration();
+            }
+            return destinationService.createDestinations(destinations).size();
+        });
 
         // Step 5: Return full trip details
-        return tripService.viewTrip(tripId);
+        return stage("load-trip", () -> tripService.viewTrip(tripId));
+    }
+
+    private <T> T stage(String name, Observation.CheckedCallable<T, Exception> step) throws Exception {
+        return Observation.createNotStarted("smarttrip.smart-itinerary.stage", observationRegistry)
+                .contextualName("smart-itinerary " + name)
+                .lowCardinalityKeyValue("stage", name)
+                .observeChecked(step);
     }
 
     private String extractJsonBlock(String geminiOutput) {
@@ -2,18 +2,20 @@ package com.group4.smarttrip.services;
 
 import com.group4.smarttrip.dtos.CreateTripRequest;
 import com.group4.smarttrip.dtos.DestinationDto;
+import com.group4.smarttrip.dtos.TripDetailsResponse;
 import com.group4.smarttrip.dtos.TripDto;
 import com.group4.smarttrip.entities.Trip;
+import com.group4.smarttrip.mappers.DestinationMapper;
 import com.group4.smarttrip.mappers.TripMapper;
 import com.group4.smarttrip.repositories.TripRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,7 +26,7 @@ public class TripService {
 //    private final TripVisitRepository tripVisitRepository;
 //    private final PlaceRepository placeRepository;
 //    private final TripVisitMapper tripVisitMapper;
-    private final DestinationService destinationService;
+    private final DestinationMapper destinationMapper;
 
 
     public TripDto createTrip(Trip trip, Long userId) {
@@ -36,6 +38,7 @@ public class TripService {
         return tripMapper.toDto(savedTrip);
     }
 
+    @Transactional(readOnly = true)
     public List<TripDto> getUserTrips(Long userId, int page) {
         int pageSize = 10;
         PageRequest pageRequest = PageRequest.of(page - 1, pageSize, Sort.by("updatedAt").descending());
@@ -46,6 +49,7 @@ public class TripService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public Trip getTripById(Long tripId) {
         return tripRepository.findById(tripId)
                 .orElseThrow(() -> new IllegalArgumentException("Trip not found"));
@@ -104,16 +108,16 @@ public class TripService {
 //        tripVisitRepository.deleteById(tripVisitId);
 //    }
 
-    public Map<String, Object> viewTrip(Long tripId) {
-        Trip trip = tripRepository.findById(tripId)
+    @Transactional(readOnly = true)
+    public TripDetailsResponse viewTrip(Long tripId) {
+        Trip trip = tripRepository.findWithDestinationsByTripId(tripId)
                 .orElseThrow(() -> new IllegalArgumentException("Trip not found"));
 
-        List<DestinationDto> destinations = destinationService.getDestinationsByTripId(trip.getTripId());
+        List<DestinationDto> destinations = trip.getDestinations().stream()
+                .map(destinationMapper::toDto)
+                .toList();
 
-        return Map.of(
-                "basicInfo", tripMapper.toDto(trip),
-                "destinations", destinations
-        );
+        return new TripDetailsResponse(tripMapper.toDto(trip), destinations);
 
 //        List<TripVisit> tripVisits = tripVisitRepository.findAllByTrip(trip);
 //
@@ -2,6 +2,11 @@ package com.group4.smarttrip.services;
 
 import com.group4.smarttrip.dtos.WeatherApiResponse;
 import com.group4.smarttrip.dtos.WeatherDto;
+import com.group4.smarttrip.utils.Bulkhead;
+import com.group4.smarttrip.utils.BulkheadFullException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
@@ -12,8 +17,13 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 
 @Service
+@RequiredArgsConstructor
 public class WeatherService {
 
+    private final ObservationRegistry observationRegistry;
+    private final RestTemplate restTemplate;
+    private final Bulkhead weatherBulkhead;
+
     @Value("${open-weather.api.key}")
     private String apiKey;
 
@@ -23,8 +33,6 @@ public class WeatherService {
     @Value("${open-weather.api.units}")
     private String units;
 
-    private final RestTemplate restTemplate = new RestTemplate();
-
     private final double defaultLat = 40.776676;
     private final double defaultLon = -73.971321;
 
@@ -39,7 +47,7 @@ public class WeatherService {
                 apiUrl, lat, lon, apiKey, units);
 
         try {
-            WeatherApiResponse response = restTemplate.getForObject(url, WeatherApiResponse.class);
+            WeatherApiResponse response = fetch(url, "current");
             WeatherApiResponse.Current current = response.getCurrent();
             WeatherApiResponse.Weather weather = current.getWeather().get(0);
 
@@ -54,6 +62,8 @@ public class WeatherService {
                     precipitation,
                     LocalDateTime.now()
             );
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (RuntimeException e) {
             throw new RuntimeException("Weather API return invalid response");
         }
@@ -70,7 +80,7 @@ public class WeatherService {
                 apiUrl, lat, lon, dt, apiKey, units);
 
         try {
-            WeatherApiResponse response = restTemplate.getForObject(url, WeatherApiResponse.class);
+            WeatherApiResponse response = fetch(url, "forecast");
             WeatherApiResponse.DataPoint forecast = response.getData().get(0);
             WeatherApiResponse.Weather weather = forecast.getWeather().get(0);
 
@@ -87,8 +97,16 @@ public class WeatherService {
                     precipitation,
                     localDateTime
             );
+        } catch (BulkheadFullException e) {
+            throw e;
         } catch (RuntimeException e) {
             throw new RuntimeException("Weather API return invalid response");
         }
     }
+
+    private WeatherApiResponse fetch(String url, String kind) {
+        return weatherBulkhead.call(() -> Observation.createNotStarted("smarttrip.weather.call", observationRegistry)
+                .lowCardinalityKeyValue("kind", kind)
+                .observe(() -> restTemplate.getForObject(url, WeatherApiResponse.class)));
+    }
 }
@@ -5,14 +5,15 @@ import com.group4.smarttrip.repositories.ZoneRepository;
 import com.group4.smarttrip.utils.GeoUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Transactional(readOnly = true)
 public class ZoneService {
 
     private final ZoneRepository zoneRepository;
@@ -22,11 +23,36 @@ public class ZoneService {
     }
 
     public Zone findNearestZone(double lat, double lon, double maxDistanceKm) {
+        return nearestZone(getAllZones(), lat, lon, maxDistanceKm);
+    }
+
+    /**
+     * Nearest zone within maxDistanceKm of each point (null where there is none), loading the
+     * zones once for all points.
+     */
+    public List<Zone> findNearestZones(double[] lats, double[] lons, double maxDistanceKm) {
         List<Zone> allZones = getAllZones();
-        return allZones.stream()
-                .filter(zone -> GeoUtils.haversineDistance(lat, lon, zone.getCentralLat(), zone.getCentralLon()) <= maxDistanceKm)
-                .min(Comparator.comparingDouble(zone -> GeoUtils.haversineDistance(lat, lon, zone.getCentralLat(), zone.getCentralLon())))
-                .orElse(null);
+        List<Zone> nearest = new ArrayList<>(lats.length);
+        for (int i = 0; i < lats.length; i++) {
+            nearest.add(nearestZone(allZones, lats[i], lons[i], maxDistanceKm));
+        }
+        return nearest;
+    }
+
+    private static Zone nearestZone(List<Zone> allZones, double lat, double lon, double maxDistanceKm) {
+        double cosLat = GeoUtils.cosLatitude(lat);
+        double limit = GeoUtils.squaredDegrees(maxDistanceKm);
+        double best = Double.POSITIVE_INFINITY;
+        Zone nearest = null;
+        for (Zone zone : allZones) {
+            double distance = GeoUtils.squaredPlanarDistance(lat, lon, zone.getCentralLat(), zone.getCentralLon(), cosLat);
+            // The first of equally near zones wins
+            if (distance <= limit && distance < best) {
+                best = distance;
+                nearest = zone;
+            }
+        }
+        return nearest;
     }
 
     public Optional<Zone> getZoneById(long zoneId) {
@@ -40,9 +66,20 @@ public class ZoneService {
 
     public List<Zone> getTop3NearestZones(double lat, double lon) {
         List<Zone> allZones = getAllZones();
-        return allZones.stream()
-                .sorted(Comparator.comparingDouble(zone -> GeoUtils.haversineDistance(lat, lon, zone.getCentralLat(), zone.getCentralLon())))
-                .limit(3)
-                .collect(Collectors.toList());
+        double[] lats = new double[allZones.size()];
+        double[] lons = new double[allZones.size()];
+        for (int i = 0; i < lats.length; i++) {
+            lats[i] = allZones.get(i).getCentralLat();
+            lons[i] = allZones.get(i).getCentralLon();
+        }
+
+        double[] distances = new double[lats.length];
+        GeoUtils.squaredPlanarDistances(lat, lon, lats, lons, distances);
+
+        List<Zone> nearest = new ArrayList<>(3);
+        for (int index : GeoUtils.smallestIndices(distances, 3)) {
+            nearest.add(allZones.get(index));
+        }
+        return nearest;
     }
 }
@@ -0,0 +1,109 @@
+package com.group4.smarttrip.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caps the requests in flight and moves the cap with latency, in the manner of a gradient limit:
+ * a short-term average of response times is compared with a long-term one, and when responses
+ * slow down the limit shrinks in proportion (by at most half per sample). While latency is at
+ * its usual level the limit grows by its square root, up to the maximum.
+ *
+ * Acquiring is a compare-and-set on the in-flight count. Samples are folded into the averages
+ * by whichever thread gets the lock without waiting; the others skip it, so no request blocks.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 500;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    private volatile int limit;
+
+    private final ReentrantLock sampleLock = new ReentrantLock();
+    private double shortRttNanos;
+    private double longRttNanos;
+    private double estimatedLimit;
+
+    public AdaptiveConcurrencyLimiter(int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = maxLimit;
+        this.estimatedLimit = maxLimit;
+    }
+
+    /** Takes a slot, or returns false when the current limit is reached. */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Gives the slot back and records how long the request took. */
+    public void release(long rttNanos) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        if (!sampleLock.tryLock()) {
+            return;
+        }
+        try {
+            update(rttNanos, inFlightBefore);
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    /** Gives the slot back without a latency sample, e.g. for a request that went async. */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private void update(long rttNanos, int inFlightBefore) {
+        if (longRttNanos == 0) {
+            shortRttNanos = rttNanos;
+            longRttNanos = rttNanos;
+            return;
+        }
+        shortRttNanos += (rttNanos - shortRttNanos) / SHORT_WINDOW;
+        longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+        // After a sustained drop in latency, let the baseline follow quickly
+        if (longRttNanos > 2 * shortRttNanos) {
+            longRttNanos = 2 * shortRttNanos;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, longRttNanos / shortRttNanos));
+        // Only grow a limit the traffic is actually pressing against
+        double headroom = inFlightBefore >= estimatedLimit / 2 ? Math.sqrt(estimatedLimit) : 0;
+        double target = estimatedLimit * gradient + headroom;
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - SMOOTHING) + target * SMOOTHING));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,111 @@
+package com.group4.smarttrip.utils;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caps the calls in flight to one downstream, so a slow dependency can hold at most that many
+ * request threads. A caller that cannot get a slot within the maximum wait is turned away with
+ * {@link BulkheadFullException} instead of queueing behind the slow calls.
+ *
+ * Background work (streams and snapshot rebuilds, marked with {@link #runAsBackground}) may only
+ * use part of the slots, so interactive requests always find some free.
+ */
+public class Bulkhead {
+
+    private static final ThreadLocal<Boolean> BACKGROUND = new ThreadLocal<>();
+
+    private final String name;
+    private final int maxConcurrent;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final Semaphore backgroundPermits;
+
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong queueNanos = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrent, int maxBackground, long maxWaitMillis) {
+        if (maxConcurrent < 1 || maxBackground < 1 || maxBackground > maxConcurrent) {
+            throw new IllegalArgumentException("Bulkhead " + name + " needs 1 <= background <= max concurrent");
+        }
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.permits = new Semaphore(maxConcurrent);
+        this.backgroundPermits = new Semaphore(maxBackground);
+    }
+
+    /** Runs the task with every bulkhead call it makes on this thread counted as background work. */
+    public static <T> T runAsBackground(Callable<T> task) throws Exception {
+        Boolean previous = BACKGROUND.get();
+        BACKGROUND.set(Boolean.TRUE);
+        try {
+            return task.call();
+        } finally {
+            BACKGROUND.set(previous);
+        }
+    }
+
+    public <T> T call(Supplier<T> call) {
+        boolean background = BACKGROUND.get() != null;
+        long start = System.nanoTime();
+        if (!acquire(background, start)) {
+            rejected.incrementAndGet();
+            throw new BulkheadFullException(name);
+        }
+        acquired.incrementAndGet();
+        queueNanos.addAndGet(System.nanoTime() - start);
+        try {
+            return call.get();
+        } finally {
+            permits.release();
+            if (background) {
+                backgroundPermits.release();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public long getAcquired() {
+        return acquired.get();
+    }
+
+    public double getQueueTimeNanos() {
+        return queueNanos.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private boolean acquire(boolean background, long start) {
+        try {
+            if (!background) {
+                return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            }
+            if (!backgroundPermits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+            long remaining = maxWaitNanos - (System.nanoTime() - start);
+            if (permits.tryAcquire(Math.max(0, remaining), TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            backgroundPermits.release();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name, e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.group4.smarttrip.utils;
+
+/**
+ * Thrown when a downstream's bulkhead has no free slot; the API answers 503 so the client retries.
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    private final String downstream;
+
+    public BulkheadFullException(String downstream) {
+        super("Too many concurrent calls to " + downstream);
+        this.downstream = downstream;
+    }
+
+    public String getDownstream() {
+        return downstream;
+    }
+}
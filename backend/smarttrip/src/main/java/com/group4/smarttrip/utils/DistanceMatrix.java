@@ -0,0 +1,218 @@
+package com.group4.smarttrip.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Walking distances between the places of each zone cluster, built offline and memory-mapped,
+ * so routing reads a distance with one array access and the matrices live in the page cache
+ * rather than on the heap. Layout (big-endian):
+ * <pre>
+ * 4 bytes  magic "SDMX"
+ * u8       format version (1)
+ * u8       bytes per distance: 2 (float16) or 4 (float32)
+ * u16      reserved (0)
+ * i32      cluster count
+ * per cluster: i64 cluster key, i32 place count, i64 offset of the cluster body
+ * per cluster body, 8-byte aligned:
+ *   i64 × n      place ids, ascending; a place's row and column is its position here
+ *   dist × n×n   distances in kilometres, row-major
+ * </pre>
+ */
+public final class DistanceMatrix {
+
+    public static final DistanceMatrix EMPTY = new DistanceMatrix(Map.of());
+
+    private static final int MAGIC = 0x53444D58;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 12;
+    private static final int DIRECTORY_ENTRY_BYTES = 20;
+
+    private final Map<Long, Cluster> clusters;
+
+    private DistanceMatrix(Map<Long, Cluster> clusters) {
+        this.clusters = clusters;
+    }
+
+    /** Places of one cluster; the coordinates are only used to compute the distances. */
+    public record ClusterPlaces(long key, long[] placeIds, double[] lats, double[] lons) {
+    }
+
+    public static DistanceMatrix open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != MAGIC || header.get(4) != VERSION) {
+                throw new IOException("Not a version " + VERSION + " distance matrix: " + path);
+            }
+            int bytesPerDistance = header.get(5);
+            if (bytesPerDistance != Short.BYTES && bytesPerDistance != Float.BYTES) {
+                throw new IOException("Unsupported distance width " + bytesPerDistance + " in " + path);
+            }
+            int count = header.getInt(8);
+            ByteBuffer directory = ByteBuffer.allocate(count * DIRECTORY_ENTRY_BYTES);
+            readFully(channel, directory, HEADER_BYTES);
+
+            Map<Long, Cluster> clusters = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                long key = directory.getLong();
+                int size = directory.getInt();
+                long offset = directory.getLong();
+                long length = (long) size * Long.BYTES + (long) size * size * bytesPerDistance;
+                // The mapping stays valid after the channel is closed
+                MappedByteBuffer body = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                clusters.put(key, new Cluster(body, size, bytesPerDistance));
+            }
+            return new DistanceMatrix(clusters);
+        }
+    }
+
+    /**
+     * Writes the clusters to a temporary file next to path and moves it into place, so a running
+     * instance that has the old file mapped keeps reading consistent data.
+     *
+     * @param halfPrecision store float16 (about 0.05% error) instead of float32
+     */
+    public static void write(Path path, List<ClusterPlaces> clusters, boolean halfPrecision) throws IOException {
+        int bytesPerDistance = halfPrecision ? Short.BYTES : Float.BYTES;
+        long offset = align(HEADER_BYTES + (long) clusters.size() * DIRECTORY_ENTRY_BYTES);
+        long[] offsets = new long[clusters.size()];
+        long[] lengths = new long[clusters.size()];
+        for (int i = 0; i < clusters.size(); i++) {
+            int size = clusters.get(i).placeIds().length;
+            lengths[i] = (long) size * Long.BYTES + (long) size * size * bytesPerDistance;
+            if (lengths[i] > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Cluster " + clusters.get(i).key() + " has too many places: " + size);
+            }
+            offsets[i] = offset;
+            offset = align(offset + lengths[i]);
+        }
+
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(bytesPerDistance);
+            out.writeShort(0);
+            out.writeInt(clusters.size());
+            for (int i = 0; i < clusters.size(); i++) {
+                out.writeLong(clusters.get(i).key());
+                out.writeInt(clusters.get(i).placeIds().length);
+                out.writeLong(offsets[i]);
+            }
+            long position = HEADER_BYTES + (long) clusters.size() * DIRECTORY_ENTRY_BYTES;
+            for (int i = 0; i < clusters.size(); i++) {
+                out.write(new byte[(int) (offsets[i] - position)]);
+                writeCluster(out, clusters.get(i), halfPrecision);
+                position = offsets[i] + lengths[i];
+            }
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /** The cluster stored under key, or null when the file has none. */
+    public Cluster cluster(long key) {
+        return clusters.get(key);
+    }
+
+    public int clusterCount() {
+        return clusters.size();
+    }
+
+    public static final class Cluster {
+
+        private final ByteBuffer body;
+        private final int size;
+        private final int bytesPerDistance;
+        private final int distancesOffset;
+
+        private Cluster(ByteBuffer body, int size, int bytesPerDistance) {
+            this.body = body;
+            this.size = size;
+            this.bytesPerDistance = bytesPerDistance;
+            this.distancesOffset = size * Long.BYTES;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /** Row of the place in this cluster, or -1 when the matrix was built without it. */
+        public int indexOf(long placeId) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                long id = body.getLong(middle * Long.BYTES);
+                if (id < placeId) {
+                    low = middle + 1;
+                } else if (id > placeId) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+
+        /** Walking distance in kilometres between the places at rows from and to. */
+        public double distance(int from, int to) {
+            int position = distancesOffset + (from * size + to) * bytesPerDistance;
+            return bytesPerDistance == Short.BYTES
+                    ? Float.float16ToFloat(body.getShort(position))
+                    : body.getFloat(position);
+        }
+    }
+
+    private static void writeCluster(DataOutputStream out, ClusterPlaces cluster, boolean halfPrecision)
+            throws IOException {
+        long[] ids = cluster.placeIds();
+        Integer[] order = new Integer[ids.length];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (a, b) -> Long.compare(ids[a], ids[b]));
+        for (int i = 0; i < order.length; i++) {
+            if (i > 0 && ids[order[i]] == ids[order[i - 1]]) {
+                throw new IllegalArgumentException("Place " + ids[order[i]] + " is listed twice in cluster " + cluster.key());
+            }
+            out.writeLong(ids[order[i]]);
+        }
+        double[] lats = cluster.lats();
+        double[] lons = cluster.lons();
+        for (int from : order) {
+            for (int to : order) {
+                float distance = (float) GeoUtils.gridDistance(lats[from], lons[from], lats[to], lons[to]);
+                if (halfPrecision) {
+                    out.writeShort(Float.floatToFloat16(distance));
+                } else {
+                    out.writeFloat(distance);
+                }
+            }
+        }
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Distance matrix file is truncated");
+            }
+        }
+        buffer.flip();
+    }
+}
@@ -1,9 +1,26 @@
 package com.group4.smarttrip.utils;
 
+import java.util.Comparator;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Distance helpers. {@link #haversineDistance} is exact and meant for values shown to users;
+ * the planar kernels treat a city-sized area as flat (longitude scaled by cos(latitude)),
+ * which keeps the ordering of Manhattan-scale distances and is much cheaper to evaluate.
+ */
 public class GeoUtils {
-    public static double haversineDistance(double lat1, double lon1, double lat2, double lon2) {
-        final double R = 6371; // Earth radius in kilometers
 
+    public static final double EARTH_RADIUS_KM = 6371;
+
+    /** Length of one degree of latitude (and of longitude at the equator). */
+    public static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    /** Manhattan's avenues run about 29 degrees east of true north. */
+    public static final double MANHATTAN_GRID_ANGLE = Math.toRadians(29);
+    private static final double GRID_SIN = Math.sin(MANHATTAN_GRID_ANGLE);
+    private static final double GRID_COS = Math.cos(MANHATTAN_GRID_ANGLE);
+
+    public static double haversineDistance(double lat1, double lon1, double lat2, double lon2) {
         double dLat = Math.toRadians(lat2 - lat1);
         double dLon = Math.toRadians(lon2 - lon1);
 
@@ -11,6 +28,85 @@ public class GeoUtils {
                 + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
                 * Math.sin(dLon / 2) * Math.sin(dLon / 2);
 
-        return R * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    /** Scale factor for longitude differences around the given latitude; compute once per query. */
+    public static double cosLatitude(double lat) {
+        return Math.cos(Math.toRadians(lat));
+    }
+
+    /** Equirectangular distance in kilometres; within 0.5% of haversine across Manhattan. */
+    public static double equirectangularDistance(double lat1, double lon1, double lat2, double lon2, double cosLat) {
+        return Math.sqrt(squaredPlanarDistance(lat1, lon1, lat2, lon2, cosLat)) * KM_PER_DEGREE;
+    }
+
+    /**
+     * Walking distance in kilometres along the street grid: the planar offset is rotated onto
+     * the avenues and streets and the two legs are added (L1). Never shorter than the straight line.
+     */
+    public static double gridDistance(double lat1, double lon1, double lat2, double lon2) {
+        double north = (lat2 - lat1) * KM_PER_DEGREE;
+        double east = (lon2 - lon1) * cosLatitude((lat1 + lat2) / 2) * KM_PER_DEGREE;
+        double alongAvenue = east * GRID_SIN + north * GRID_COS;
+        double alongStreet = east * GRID_COS - north * GRID_SIN;
+        return Math.abs(alongAvenue) + Math.abs(alongStreet);
+    }
+
+    /** Squared planar distance in degrees squared. Only meaningful for comparisons. */
+    public static double squaredPlanarDistance(double lat1, double lon1, double lat2, double lon2, double cosLat) {
+        double dLat = lat2 - lat1;
+        double dLon = (lon2 - lon1) * cosLat;
+        return dLat * dLat + dLon * dLon;
+    }
+
+    /** Converts a radius in kilometres to the units of {@link #squaredPlanarDistance}. */
+    public static double squaredDegrees(double km) {
+        double degrees = km / KM_PER_DEGREE;
+        return degrees * degrees;
+    }
+
+    /** Orders items by distance from (lat, lon), nearest first. */
+    public static <T> Comparator<T> byDistanceFrom(double lat, double lon,
+                                                   ToDoubleFunction<T> latOf, ToDoubleFunction<T> lonOf) {
+        double cosLat = cosLatitude(lat);
+        return Comparator.comparingDouble(item ->
+                squaredPlanarDistance(lat, lon, latOf.applyAsDouble(item), lonOf.applyAsDouble(item), cosLat));
+    }
+
+    /** Fills out[i] with the squared planar distance from (lat, lon) to (lats[i], lons[i]). */
+    public static void squaredPlanarDistances(double lat, double lon, double[] lats, double[] lons, double[] out) {
+        double cosLat = cosLatitude(lat);
+        for (int i = 0; i < lats.length; i++) {
+            double dLat = lats[i] - lat;
+            double dLon = (lons[i] - lon) * cosLat;
+            out[i] = dLat * dLat + dLon * dLon;
+        }
+    }
+
+    /** Indices of the k smallest values, nearest first. Partial selection, O(n * k). */
+    public static int[] smallestIndices(double[] values, int k) {
+        if (k <= 0 || values.length == 0) {
+            return new int[0];
+        }
+        int size = Math.min(k, values.length);
+        int[] indices = new int[size];
+        double[] best = new double[size];
+        int filled = 0;
+        for (int i = 0; i < values.length; i++) {
+            double value = values[i];
+            if (filled == size && value >= best[size - 1]) {
+                continue;
+            }
+            int position = filled < size ? filled++ : size - 1;
+            while (position > 0 && best[position - 1] > value) {
+                best[position] = best[position - 1];
+                indices[position] = indices[position - 1];
+                position--;
+            }
+            best[position] = value;
+            indices[position] = i;
+        }
+        return indices;
     }
 }
@@ -0,0 +1,24 @@
+package com.group4.smarttrip.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets one in every N calls through, so large debug payloads can be logged without
+ * paying the formatting and I/O cost on every request.
+ */
+public class LogSampler {
+
+    private final long every;
+    private final AtomicLong counter = new AtomicLong();
+
+    public LogSampler(long every) {
+        if (every < 1) {
+            throw new IllegalArgumentException("Sampling interval must be at least 1");
+        }
+        this.every = every;
+    }
+
+    public boolean sample() {
+        return counter.getAndIncrement() % every == 0;
+    }
+}
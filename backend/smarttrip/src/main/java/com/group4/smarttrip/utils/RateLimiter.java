@@ -0,0 +1,78 @@
+package com.group4.smarttrip.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per client, kept as a theoretical arrival time (GCRA) in one slot of a striped
+ * array of atomics. A request is a single compare-and-set; there are no locks and no per-client
+ * objects. Clients whose keys hash to the same stripe share a bucket, so the stripe count should
+ * be well above the number of clients active within one refill of the bucket.
+ */
+public class RateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final int mask;
+    private final AtomicLongArray arrivals;
+    private final LongSupplier clock;
+    private final long origin;
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    public RateLimiter(double permitsPerSecond, int burst, int stripes) {
+        this(permitsPerSecond, burst, stripes, System::nanoTime);
+    }
+
+    RateLimiter(double permitsPerSecond, int burst, int stripes, LongSupplier clock) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+        this.toleranceNanos = (burst - 1) * emissionIntervalNanos;
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        this.mask = size - 1;
+        this.arrivals = new AtomicLongArray(size);
+        this.clock = clock;
+        // Start the clock past the tolerance so an empty slot (0) means a full bucket
+        this.origin = clock.getAsLong() - toleranceNanos - emissionIntervalNanos;
+    }
+
+    /**
+     * Takes a token for the client with the given key.
+     *
+     * @return 0 when allowed, otherwise how many nanoseconds until a token is available
+     */
+    public long tryAcquire(long key) {
+        int stripe = stripe(key);
+        long now = clock.getAsLong() - origin;
+        while (true) {
+            long arrival = arrivals.get(stripe);
+            long next = Math.max(arrival, now) + emissionIntervalNanos;
+            long wait = next - now - toleranceNanos - emissionIntervalNanos;
+            if (wait > 0) {
+                rejected.incrementAndGet();
+                return wait;
+            }
+            if (arrivals.compareAndSet(stripe, arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    private int stripe(long key) {
+        // murmur3 finalizer, so ids that differ in a few low bits still spread over the stripes
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key & mask;
+    }
+}
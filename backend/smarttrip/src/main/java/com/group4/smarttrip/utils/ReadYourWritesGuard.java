@@ -0,0 +1,51 @@
+package com.group4.smarttrip.utils;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * Remembers which users wrote to the primary database in the last few seconds, so their reads
+ * can skip the replicas until replication has caught up. The user of the current request is
+ * held in a thread-local set by a servlet filter.
+ */
+public class ReadYourWritesGuard {
+
+    private static final ThreadLocal<Long> CURRENT_USER = new ThreadLocal<>();
+
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWritesGuard(Duration window, long maxUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(window)
+                .maximumSize(maxUsers)
+                .build();
+    }
+
+    public static void setCurrentUser(Long userId) {
+        CURRENT_USER.set(userId);
+    }
+
+    public static Long getCurrentUser() {
+        return CURRENT_USER.get();
+    }
+
+    public static void clearCurrentUser() {
+        CURRENT_USER.remove();
+    }
+
+    /** Records a write by the current user, if the request has one. */
+    public void recordWrite() {
+        Long userId = CURRENT_USER.get();
+        if (userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    /** Whether the current user wrote within the window and should read from the primary. */
+    public boolean mustReadFromPrimary() {
+        Long userId = CURRENT_USER.get();
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+}
@@ -0,0 +1,192 @@
+package com.group4.smarttrip.utils;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Sends a second, identical request when the first one is slower than a recent latency percentile
+ * and returns whichever answers first. Hedges are limited to a fraction of all requests.
+ */
+public class RequestHedger {
+
+    private static final int WINDOW_SIZE = 256;
+    private static final int RECOMPUTE_EVERY = 32;
+    private static final long TOKEN = 1000;
+    private static final long MAX_BUDGET = 10 * TOKEN;
+
+    private final boolean enabled;
+    private final double delayPercentile;
+    private final long minDelayMillis;
+    private final long maxDelayMillis;
+    private final long depositPerRequest;
+    private final Executor executor;
+
+    private final AtomicLongArray latencies = new AtomicLongArray(WINDOW_SIZE);
+    private final AtomicLong samples = new AtomicLong();
+    private volatile long hedgeDelayMillis;
+
+    private final AtomicLong budget = new AtomicLong(MAX_BUDGET);
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong hedgesFired = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+
+    public RequestHedger(boolean enabled, double delayPercentile, long minDelayMillis, long maxDelayMillis,
+                         double maxHedgeRate, Executor executor) {
+        if (delayPercentile <= 0 || delayPercentile >= 1) {
+            throw new IllegalArgumentException("Hedge delay percentile must be between 0 and 1");
+        }
+        if (maxHedgeRate < 0 || maxHedgeRate > 1) {
+            throw new IllegalArgumentException("Max hedge rate must be between 0 and 1");
+        }
+        this.enabled = enabled;
+        this.delayPercentile = delayPercentile;
+        this.minDelayMillis = minDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.depositPerRequest = Math.round(maxHedgeRate * TOKEN);
+        this.executor = executor;
+        this.hedgeDelayMillis = maxDelayMillis;
+    }
+
+    public <T> T call(Supplier<T> request) {
+        if (!enabled) {
+            return request.get();
+        }
+
+        requests.incrementAndGet();
+        deposit();
+
+        CompletableFuture<T> primary = submit(request);
+        try {
+            return primary.get(hedgeDelayMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            if (!tryAcquireHedge()) {
+                return await(primary);
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for response", e);
+        }
+
+        hedgesFired.incrementAndGet();
+        CompletableFuture<T> hedge = submit(request);
+        CompletableFuture<Boolean> hedgeWon = new CompletableFuture<>();
+        CompletableFuture<T> winner = firstSuccessful(primary, hedge, hedgeWon);
+
+        T result = await(winner);
+        if (hedgeWon.getNow(false)) {
+            hedgesWon.incrementAndGet();
+        }
+        return result;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getHedgesFired() {
+        return hedgesFired.get();
+    }
+
+    public long getHedgesWon() {
+        return hedgesWon.get();
+    }
+
+    public long getHedgeDelayMillis() {
+        return hedgeDelayMillis;
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> request) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            T result = request.get();
+            recordLatency(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return result;
+        }, executor);
+    }
+
+    private <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> primary, CompletableFuture<T> hedge,
+                                                     CompletableFuture<Boolean> hedgeWon) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        primary.whenComplete((result, error) -> {
+            if (error == null) {
+                if (winner.complete(result)) hedgeWon.complete(false);
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(error);
+            }
+        });
+        hedge.whenComplete((result, error) -> {
+            if (error == null) {
+                if (winner.complete(result)) hedgeWon.complete(true);
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(error);
+            }
+        });
+        return winner;
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for response", e);
+        }
+    }
+
+    private RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException runtime
+                ? runtime
+                : new IllegalStateException(cause);
+    }
+
+    private void deposit() {
+        budget.accumulateAndGet(depositPerRequest, (current, delta) -> Math.min(MAX_BUDGET, current + delta));
+    }
+
+    private boolean tryAcquireHedge() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < TOKEN) return false;
+        } while (!budget.compareAndSet(current, current - TOKEN));
+        return true;
+    }
+
+    private void recordLatency(long millis) {
+        long n = samples.getAndIncrement();
+        latencies.set((int) (n % WINDOW_SIZE), millis);
+        if ((n + 1) % RECOMPUTE_EVERY == 0) {
+            recomputeDelay((int) Math.min(n + 1, WINDOW_SIZE));
+        }
+    }
+
+    private void recomputeDelay(int count) {
+        long[] window = new long[count];
+        for (int i = 0; i < count; i++) {
+            window[i] = latencies.get(i);
+        }
+        Arrays.sort(window);
+        int index = (int) Math.ceil(delayPercentile * count) - 1;
+        long percentile = window[Math.max(0, Math.min(count - 1, index))];
+        hedgeDelayMillis = Math.max(minDelayMillis, Math.min(maxDelayMillis, percentile));
+    }
+}
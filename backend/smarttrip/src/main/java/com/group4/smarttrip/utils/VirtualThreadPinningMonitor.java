@@ -0,0 +1,75 @@
+package com.group4.smarttrip.utils;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Streams JFR jdk.VirtualThreadPinned events in-process. A virtual thread that blocks inside
+ * synchronized code (or a native frame) keeps its carrier thread, so a few long pins are enough
+ * to stall every other virtual thread. Pins are counted, and a sample is logged with the
+ * stack that caused them.
+ */
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final RecordingStream stream = new RecordingStream();
+    private final LogSampler stackSampler;
+    private final LongAdder pinnedCount = new LongAdder();
+    private final LongAdder pinnedNanos = new LongAdder();
+
+    public VirtualThreadPinningMonitor(Duration threshold, long logEvery) {
+        this.stackSampler = new LogSampler(logEvery);
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+    }
+
+    public void start() {
+        stream.startAsync();
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    public double getPinnedSeconds() {
+        return pinnedNanos.sum() / 1e9;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.increment();
+        pinnedNanos.add(event.getDuration().toNanos());
+
+        if (logger.isWarnEnabled() && stackSampler.sample()) {
+            logger.warn("Virtual thread pinned its carrier for {} ms:\n{}",
+                    event.getDuration().toMillis(), format(event));
+        }
+    }
+
+    private static String format(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "\t(no stack trace)";
+        }
+        List<RecordedFrame> frames = event.getStackTrace().getFrames();
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + (frame.isJavaFrame() ? ":" + frame.getLineNumber() : " (native)"))
+                .collect(Collectors.joining("\n"));
+    }
+}
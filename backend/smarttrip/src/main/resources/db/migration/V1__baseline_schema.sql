@@ -0,0 +1,87 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update) from the JPA entities.
+-- Existing databases are baselined at version 1 and skip this script.
+
+CREATE TABLE zones (
+    zone_id     BIGINT           NOT NULL,
+    zone_name   VARCHAR(255),
+    central_lat DOUBLE PRECISION NOT NULL,
+    central_lon DOUBLE PRECISION NOT NULL,
+    CONSTRAINT zones_pkey PRIMARY KEY (zone_id)
+);
+
+CREATE TABLE places (
+    place_id           BIGINT       NOT NULL,
+    place_name         VARCHAR(255) NOT NULL,
+    lat                REAL         NOT NULL,
+    lon                REAL         NOT NULL,
+    zone_id            BIGINT,
+    category           VARCHAR(255) NOT NULL,
+    estimated_duration DOUBLE PRECISION,
+    CONSTRAINT places_pkey PRIMARY KEY (place_id),
+    CONSTRAINT fk_places_zone FOREIGN KEY (zone_id) REFERENCES zones (zone_id)
+);
+
+CREATE TABLE historical_flows (
+    zone_id                  BIGINT  NOT NULL,
+    hour                     INTEGER NOT NULL,
+    weekday                  INTEGER NOT NULL,
+    month                    INTEGER NOT NULL,
+    fare_amount              DOUBLE PRECISION,
+    has_congestion_surcharge DOUBLE PRECISION,
+    is_weekend               INTEGER,
+    zone_avg_flow            DOUBLE PRECISION,
+    log_total_flow           DOUBLE PRECISION,
+    log_mta_flow             DOUBLE PRECISION,
+    log_taxi_flow            DOUBLE PRECISION,
+    log_zone_avg_flow        DOUBLE PRECISION,
+    CONSTRAINT historical_flows_pkey PRIMARY KEY (hour, month, weekday, zone_id)
+);
+
+CREATE TABLE users (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username          VARCHAR(50)  NOT NULL,
+    email             VARCHAR(255) NOT NULL,
+    provider          VARCHAR(20)  NOT NULL,
+    provider_user_id  VARCHAR(100),
+    password          VARCHAR(255),
+    profile_photo_url TEXT,
+    email_verified    BOOLEAN      NOT NULL,
+    created_at        TIMESTAMP(6) NOT NULL,
+    CONSTRAINT users_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_provider_user UNIQUE (provider, provider_user_id)
+);
+
+CREATE TABLE trips (
+    trip_id         BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    user_id         BIGINT       NOT NULL,
+    trip_name       VARCHAR(255) NOT NULL,
+    start_date_time TIMESTAMP(6) NOT NULL,
+    end_date_time   TIMESTAMP(6) NOT NULL,
+    num_travellers  INTEGER      NOT NULL,
+    thumbnail_url   VARCHAR(255),
+    created_at      TIMESTAMP(6),
+    updated_at      TIMESTAMP(6),
+    CONSTRAINT trips_pkey PRIMARY KEY (trip_id)
+);
+
+CREATE TABLE destinations (
+    destination_id   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    lat              DOUBLE PRECISION NOT NULL,
+    lon              DOUBLE PRECISION NOT NULL,
+    destination_name VARCHAR(255)     NOT NULL,
+    trip_id          BIGINT,
+    visit_time       TIMESTAMP(6)     NOT NULL,
+    CONSTRAINT destinations_pkey PRIMARY KEY (destination_id),
+    CONSTRAINT fk_destinations_trip FOREIGN KEY (trip_id) REFERENCES trips (trip_id)
+);
+
+CREATE TABLE trip_visits (
+    place_id   BIGINT NOT NULL,
+    trip_id    BIGINT NOT NULL,
+    visit_time TIMESTAMP(6),
+    CONSTRAINT trip_visits_pkey PRIMARY KEY (place_id, trip_id),
+    CONSTRAINT fk_trip_visits_place FOREIGN KEY (place_id) REFERENCES places (place_id),
+    CONSTRAINT fk_trip_visits_trip FOREIGN KEY (trip_id) REFERENCES trips (trip_id)
+);
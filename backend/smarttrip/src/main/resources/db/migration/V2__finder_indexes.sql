@@ -0,0 +1,21 @@
+-- One index per repository finder that is not already served by a primary key or unique
+-- constraint. users(email), users(username) and users(provider, provider_user_id) are covered
+-- by their unique constraints; historical_flows is only read by primary key.
+
+-- PlaceRepository.findByZone_ZoneIdAndCategory, and findByZone_ZoneId via the leading column
+CREATE INDEX IF NOT EXISTS idx_places_zone_category ON places (zone_id, category);
+
+-- PlaceRepository.findByCategory
+CREATE INDEX IF NOT EXISTS idx_places_category ON places (category);
+
+-- TripRepository.findAllByUserId, paged and ordered by updated_at desc
+CREATE INDEX IF NOT EXISTS idx_trips_user_updated ON trips (user_id, updated_at DESC);
+
+-- DestinationRepository.findAllByTrip
+CREATE INDEX IF NOT EXISTS idx_destinations_trip ON destinations (trip_id);
+
+-- TripVisitRepository.findAllByTrip (the primary key leads with place_id)
+CREATE INDEX IF NOT EXISTS idx_trip_visits_trip ON trip_visits (trip_id);
+
+-- ZoneRepository.findByZoneName
+CREATE INDEX IF NOT EXISTS idx_zones_zone_name ON zones (zone_name);
@@ -0,0 +1,9 @@
+-- Destination ids come from a sequence that Hibernate allocates 50 values at a time, so the
+-- inserts for one itinerary can be sent as a single JDBC batch. IDENTITY columns disable batching.
+ALTER TABLE destinations ALTER COLUMN destination_id DROP IDENTITY IF EXISTS;
+ALTER TABLE destinations ALTER COLUMN destination_id DROP DEFAULT;
+
+CREATE SEQUENCE destinations_seq INCREMENT BY 50 OWNED BY destinations.destination_id;
+
+-- Hibernate's pooled optimizer hands out (value - 49 .. value], so start one block above the current maximum
+SELECT setval('destinations_seq', COALESCE(MAX(destination_id), 0) + 50, false) FROM destinations;
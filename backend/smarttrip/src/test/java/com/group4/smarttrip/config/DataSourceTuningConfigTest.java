@@ -0,0 +1,46 @@
+package com.group4.smarttrip.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataSourceTuningConfigTest {
+
+    @Test
+    void testPoolFollowsCoreCountWhenThreadsAreBounded() {
+        assertEquals(9, DataSourceTuningConfig.derivePoolSize(4, 200, 8, false));
+        assertEquals(17, DataSourceTuningConfig.derivePoolSize(8, 200, 8, false));
+    }
+
+    @Test
+    void testPoolNeverExceedsThreadsThatCanUseIt() {
+        assertEquals(6, DataSourceTuningConfig.derivePoolSize(16, 4, 2, false));
+    }
+
+    @Test
+    void testVirtualThreadsUseCoreBasedSize() {
+        assertEquals(9, DataSourceTuningConfig.derivePoolSize(4, 1, 0, true));
+        assertEquals(3, DataSourceTuningConfig.derivePoolSize(1, 200, 8, true));
+    }
+
+    @Test
+    void testExplicitMinimumIdleIsKept() {
+        BeanPostProcessor processor = DataSourceTuningConfig.hikariPoolSizePostProcessor(
+                new MockEnvironment().withProperty("smarttrip.datasource.pool-size", "12"));
+
+        HikariDataSource configured = new HikariDataSource();
+        configured.setMinimumIdle(3);
+        processor.postProcessBeforeInitialization(configured, "dataSource");
+        assertEquals(12, configured.getMaximumPoolSize());
+        assertEquals(3, configured.getMinimumIdle());
+
+        HikariDataSource unset = new HikariDataSource();
+        processor.postProcessBeforeInitialization(unset, "dataSource");
+        assertEquals(12, unset.getMaximumPoolSize());
+        // Unset: Hikari sizes minimum idle to the maximum when the pool starts
+        assertEquals(-1, unset.getMinimumIdle());
+    }
+}
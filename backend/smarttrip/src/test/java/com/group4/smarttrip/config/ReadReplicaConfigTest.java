@@ -0,0 +1,48 @@
+package com.group4.smarttrip.config;
+
+import com.group4.smarttrip.utils.ReadYourWritesGuard;
+import com.group4.smarttrip.utils.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadReplicaConfigTest {
+
+    @Test
+    void testReplicaPoolsAreClosedWithThePrimary() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("readYourWritesGuard", new ReadYourWritesGuard(Duration.ofSeconds(5), 100));
+        DestructionAwareBeanPostProcessor processor = (DestructionAwareBeanPostProcessor)
+                ReadReplicaConfig.replicaRoutingDataSourcePostProcessor(
+                        new MockEnvironment().withProperty("smarttrip.datasource.replica.urls",
+                                "jdbc:postgresql://replica-1/smart-trip, jdbc:postgresql://replica-2/smart-trip"),
+                        beanFactory.getBeanProvider(ReadYourWritesGuard.class));
+        HikariDataSource primary = new HikariDataSource();
+        primary.setJdbcUrl("jdbc:postgresql://primary/smart-trip");
+
+        LazyConnectionDataSourceProxy proxy = assertInstanceOf(LazyConnectionDataSourceProxy.class,
+                processor.postProcessAfterInitialization(primary, "dataSource"));
+        List<HikariDataSource> replicas = ((ReplicaRoutingDataSource) proxy.getTargetDataSource())
+                .getResolvedDataSources().values().stream()
+                .map(HikariDataSource.class::cast)
+                .filter(pool -> pool != primary)
+                .toList();
+        assertEquals(2, replicas.size());
+
+        // The container destroys the raw bean and closes it through its inferred close()
+        assertTrue(processor.requiresDestruction(primary));
+        assertFalse(processor.requiresDestruction(proxy));
+        processor.postProcessBeforeDestruction(primary, "dataSource");
+        assertTrue(replicas.stream().allMatch(HikariDataSource::isClosed));
+        assertFalse(primary.isClosed());
+        assertFalse(processor.requiresDestruction(primary));
+    }
+}
@@ -0,0 +1,80 @@
+package com.group4.smarttrip.config;
+
+import com.group4.smarttrip.config.SchemaIndexVerifier.ExpectedIndex;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaIndexVerifierTest {
+
+    private static final Pattern CREATE_INDEX =
+            Pattern.compile("CREATE INDEX IF NOT EXISTS \\w+ ON (\\w+) \\(([^)]*)\\)");
+    private static final Pattern CREATE_TABLE = Pattern.compile("CREATE TABLE (\\w+) \\((.*?)\\n\\);", Pattern.DOTALL);
+    private static final Pattern KEY_CONSTRAINT = Pattern.compile("(?:PRIMARY KEY|UNIQUE) \\(([^)]*)\\)");
+
+    @Test
+    void testIndexWithMatchingLeadingColumnsCoversFinder() {
+        ExpectedIndex byZone = new ExpectedIndex("finder", "places", "zone_id");
+        Map<String, List<List<String>>> indexes = Map.of("places", List.of(List.of("zone_id", "category")));
+
+        assertTrue(SchemaIndexVerifier.findMissing(List.of(byZone), indexes).isEmpty());
+    }
+
+    @Test
+    void testColumnsOutOfOrderOrOnOtherTableAreMissing() {
+        ExpectedIndex byCategory = new ExpectedIndex("finder", "places", "category");
+        ExpectedIndex byTrip = new ExpectedIndex("finder", "trip_visits", "trip_id");
+        Map<String, List<List<String>>> indexes = Map.of(
+                "places", List.of(List.of("zone_id", "category")),
+                "destinations", List.of(List.of("trip_id")));
+
+        assertEquals(List.of(byCategory, byTrip),
+                SchemaIndexVerifier.findMissing(List.of(byCategory, byTrip), indexes));
+    }
+
+    @Test
+    void testMigrationsCreateEveryExpectedIndex() throws IOException {
+        Map<String, List<List<String>>> indexes = new HashMap<>();
+        for (String script : List.of("V1__baseline_schema.sql", "V2__finder_indexes.sql")) {
+            String sql = read("/db/migration/" + script);
+
+            Matcher table = CREATE_TABLE.matcher(sql);
+            while (table.find()) {
+                Matcher key = KEY_CONSTRAINT.matcher(table.group(2));
+                while (key.find()) {
+                    indexes.computeIfAbsent(table.group(1), name -> new ArrayList<>()).add(columns(key.group(1)));
+                }
+            }
+            Matcher index = CREATE_INDEX.matcher(sql);
+            while (index.find()) {
+                indexes.computeIfAbsent(index.group(1), name -> new ArrayList<>()).add(columns(index.group(2)));
+            }
+        }
+
+        assertEquals(List.of(), SchemaIndexVerifier.findMissing(SchemaIndexVerifier.EXPECTED_INDEXES, indexes));
+    }
+
+    private static List<String> columns(String definition) {
+        return Arrays.stream(definition.split(","))
+                .map(column -> column.trim().split("\\s+")[0])
+                .toList();
+    }
+
+    private static String read(String resource) throws IOException {
+        try (InputStream in = SchemaIndexVerifierTest.class.getResourceAsStream(resource)) {
+            assertNotNull(in, resource);
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.group4.smarttrip.services;
 
 
+import com.group4.smarttrip.dtos.LoginResponse;
 import com.group4.smarttrip.dtos.RegisterUserRequest;
+import com.group4.smarttrip.dtos.TokenRefreshResponse;
 import com.group4.smarttrip.dtos.UserDto;
 import com.group4.smarttrip.entities.User;
 import com.group4.smarttrip.mappers.UserMapper;
@@ -13,7 +15,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -108,16 +109,16 @@ public class AuthServiceTest {
 
         authService.register(userMapper.toEntity(request));
 
-        Map<String, ?> result = authService.login("test", "test1234");
+        LoginResponse result = authService.login("test", "test1234");
 
-        assertNotNull(result.get("accessToken"));
-        assertNotNull(result.get("refreshToken"));
+        assertNotNull(result.accessToken());
+        assertNotNull(result.refreshToken());
 
-        UserDto user = (UserDto) result.get("user");
+        UserDto user = result.user();
         assertEquals("test", user.getUsername());
         assertEquals("test@test.com", user.getEmail());
 
-        assertTrue(jwtUtil.validateToken((String) result.get("accessToken")));
+        assertTrue(jwtUtil.validateToken(result.accessToken()));
     }
 
     @Test
@@ -129,7 +130,7 @@ public class AuthServiceTest {
 
         authService.register(userMapper.toEntity(request));
 
-        Map<String, ?> result = authService.login("test", "test1234");
+        LoginResponse result = authService.login("test", "test1234");
 
         IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
                 authService.login("test", "wrongpass")
@@ -155,18 +156,16 @@ public class AuthServiceTest {
 
         authService.register(userMapper.toEntity(request));
 
-        Map<String, ?> loginResult = authService.login("test@test.com", "test1234");
+        LoginResponse loginResult = authService.login("test@test.com", "test1234");
 
-        String refreshToken = (String) loginResult.get("refreshToken");
+        String refreshToken = loginResult.refreshToken();
 
-        Map<String, ?> refreshed = authService.refreshToken(refreshToken);
+        TokenRefreshResponse refreshed = authService.refreshToken(refreshToken);
 
-        assertNotNull(refreshed.get("accessToken"));
-        assertNotNull(refreshed.get("refreshToken"));
-        assertNotNull(refreshed.get("user"));
-
-        UserDto user = (UserDto) refreshed.get("user");
-        assertEquals("test", user.getUsername());
+        // A refresh only issues a new access token, for the same user
+        assertNotNull(refreshed.accessToken());
+        assertTrue(jwtUtil.validateToken(refreshed.accessToken()));
+        assertEquals(loginResult.user().getId(), jwtUtil.extractUserId(refreshed.accessToken()));
     }
 
     @Test
@@ -0,0 +1,127 @@
+package com.group4.smarttrip.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group4.smarttrip.dtos.BusynessQuery;
+import com.group4.smarttrip.dtos.MlPredictionRequest;
+import com.group4.smarttrip.dtos.WeatherDto;
+import com.group4.smarttrip.dtos.ZoneBusynessDto;
+import com.group4.smarttrip.entities.Zone;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class BusynessBatchTest {
+
+    private static final Zone TIMES_SQUARE = new Zone(1L, "Times Square", 40.758, -73.9855);
+    private static final Zone CENTRAL_PARK = new Zone(2L, "Central Park", 40.7829, -73.9654);
+
+    private ZoneService zoneService;
+    private WeatherService weatherService;
+    private BusynessService busynessService;
+    private final List<List<MlPredictionRequest>> batches = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        zoneService = mock(ZoneService.class);
+        weatherService = mock(WeatherService.class);
+        MlPredictionCodec codec = new MlPredictionCodec(new ObjectMapper());
+        busynessService = spy(new BusynessService(zoneService, weatherService, mock(FlowService.class),
+                null, codec, ObservationRegistry.NOOP, null, null));
+
+        WeatherDto weather = new WeatherDto(24.3, 61, 3.6, 800, "Clear", 0.0, LocalDateTime.now());
+        when(weatherService.getCurrentWeather()).thenReturn(weather);
+        when(weatherService.getForecastWeather(anyLong())).thenReturn(weather);
+        when(zoneService.findNearestZones(any(), any(), anyDouble())).thenAnswer(invocation -> {
+            double[] lats = invocation.getArgument(0);
+            return Arrays.stream(lats)
+                    .mapToObj(lat -> lat < 40.77 ? TIMES_SQUARE : lat < 40.8 ? CENTRAL_PARK : null)
+                    .toList();
+        });
+        doAnswer(invocation -> {
+            List<MlPredictionRequest> requests = invocation.getArgument(0);
+            batches.add(requests);
+            return requests.stream().mapToDouble(request -> request.zoneId() == 1L ? 6000 : 1000).toArray();
+        }).when(busynessService).predictBusynessBatch(anyList());
+    }
+
+    @Test
+    void testTenStopItineraryIsOneMlCall() {
+        LocalDateTime morning = LocalDateTime.of(2025, 7, 22, 9, 0);
+        List<BusynessQuery> queries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            // Alternating zones, two stops per hour
+            double lat = i % 2 == 0 ? 40.758 : 40.7829;
+            queries.add(new BusynessQuery(lat, -73.98, morning.plusMinutes(30L * i)));
+        }
+
+        List<ZoneBusynessDto> results = busynessService.getBusynessBatch(queries, 3.0);
+
+        assertEquals(1, batches.size());
+        // 9:00, 9:30 ... 13:30 is five hours; stops in the same hour alternate zones, so 10 distinct pairs
+        assertEquals(10, batches.get(0).size());
+        verify(weatherService, times(5)).getForecastWeather(anyLong());
+        verify(weatherService, never()).getCurrentWeather();
+
+        assertEquals(10, results.size());
+        assertEquals(1L, results.get(0).getZoneId());
+        assertEquals("high", results.get(0).getBusynessLevel());
+        assertEquals(2L, results.get(1).getZoneId());
+        assertEquals("low", results.get(1).getBusynessLevel());
+        assertEquals(morning.plusMinutes(30), results.get(1).getTime());
+    }
+
+    @Test
+    void testSameZoneAndHourIsPredictedOnce() {
+        LocalDateTime noon = LocalDateTime.of(2025, 7, 22, 12, 5);
+        List<ZoneBusynessDto> results = busynessService.getBusynessBatch(List.of(
+                new BusynessQuery(40.758, -73.98, noon),
+                new BusynessQuery(40.759, -73.98, noon.plusMinutes(40)),
+                new BusynessQuery(40.758, -73.98, null),
+                new BusynessQuery(40.759, -73.98, null),
+                new BusynessQuery(41.5, -73.98, noon)), 3.0);
+
+        // One forecast pair, one current pair; the far-away point is not predicted
+        assertEquals(2, batches.get(0).size());
+        assertEquals("2025-07-22 12:00:00", batches.get(0).get(0).timestamp());
+        verify(weatherService, times(1)).getForecastWeather(anyLong());
+        verify(weatherService, times(1)).getCurrentWeather();
+
+        assertEquals(5, results.size());
+        assertNull(results.get(4));
+        assertEquals(results.get(0).getBusynessScore(), results.get(1).getBusynessScore());
+    }
+
+    @Test
+    void testFailedBatchFallsBackToZeroScores() throws IOException {
+        doThrow(new IOException("ML service unavailable")).when(busynessService).predictBusynessBatch(anyList());
+
+        List<ZoneBusynessDto> results = busynessService.getBusynessBatch(
+                List.of(new BusynessQuery(40.758, -73.98, null)), 3.0);
+
+        assertEquals(0, results.get(0).getBusynessScore());
+        assertEquals("low", results.get(0).getBusynessLevel());
+    }
+
+    @Test
+    void testDecodeScoresRequiresOneScorePerRequest() throws IOException {
+        MlPredictionCodec codec = new MlPredictionCodec(new ObjectMapper());
+
+        assertArrayEquals(new double[]{12.5, 3000},
+                codec.decodeScores("{\"busyness_scores\": [12.5, 3000]}".getBytes(StandardCharsets.UTF_8), 2));
+        assertThrows(IOException.class,
+                () -> codec.decodeScores("{\"busyness_scores\": [12.5]}".getBytes(StandardCharsets.UTF_8), 2));
+        assertThrows(IOException.class,
+                () -> codec.decodeScores("{\"error\": \"bad input\"}".getBytes(StandardCharsets.UTF_8), 1));
+    }
+}
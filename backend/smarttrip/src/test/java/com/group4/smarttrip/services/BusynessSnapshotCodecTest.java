@@ -0,0 +1,72 @@
+package com.group4.smarttrip.services;
+
+import com.group4.smarttrip.dtos.ZoneBusynessDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BusynessSnapshotCodecTest {
+
+    private static final Instant GENERATED_AT = Instant.parse("2025-07-22T10:00:00Z");
+
+    private static ZoneBusynessDto zone(long zoneId, double score, String level) {
+        return new ZoneBusynessDto(zoneId, "Zone " + zoneId, 40.75, -73.98, score, level, LocalDateTime.now());
+    }
+
+    @Test
+    void testRoundTripSortsZonesAndQuantizesScores() {
+        byte[] data = BusynessSnapshotCodec.encode(List.of(
+                zone(990_001L, 9000, "high"),
+                zone(4L, 1000, "low"),
+                zone(12L, 60_000, "high"),
+                zone(7L, 3000, "med")), GENERATED_AT);
+
+        BusynessSnapshotCodec.Snapshot snapshot = BusynessSnapshotCodec.decode(data);
+
+        assertEquals(GENERATED_AT, snapshot.generatedAt());
+        assertEquals(List.of(
+                new BusynessSnapshotCodec.Entry(4L, 1000, "low"),
+                new BusynessSnapshotCodec.Entry(7L, 3000, "med"),
+                // Clamped to the largest quantized score
+                new BusynessSnapshotCodec.Entry(12L, 255 * BusynessSnapshotCodec.SCORE_STEP, "high"),
+                new BusynessSnapshotCodec.Entry(990_001L, 9000, "high")), snapshot.zones());
+    }
+
+    @Test
+    void testConsecutiveZonesTakeThreeBytesEach() {
+        List<ZoneBusynessDto> zones = new ArrayList<>();
+        for (long id = 1; id <= 263; id++) {
+            zones.add(zone(id, id * 25, "low"));
+        }
+
+        byte[] data = BusynessSnapshotCodec.encode(zones, GENERATED_AT);
+
+        // version + timestamp + score step + two-byte count, then delta, score and level per zone
+        assertEquals(1 + 8 + 2 + 2 + 263 * 3, data.length);
+        assertEquals(263, BusynessSnapshotCodec.decode(data).zones().size());
+    }
+
+    @Test
+    void testUnknownLevelAndEmptySnapshot() {
+        assertEquals("unknown", BusynessSnapshotCodec.decode(BusynessSnapshotCodec.encode(
+                List.of(zone(1L, 0, null)), GENERATED_AT)).zones().get(0).level());
+        assertTrue(BusynessSnapshotCodec.decode(BusynessSnapshotCodec.encode(List.of(), GENERATED_AT)).zones().isEmpty());
+    }
+
+    @Test
+    void testRejectsOtherVersionsAndTruncatedData() {
+        byte[] data = BusynessSnapshotCodec.encode(List.of(zone(1L, 100, "low")), GENERATED_AT);
+
+        byte[] otherVersion = data.clone();
+        otherVersion[0] = 2;
+        assertThrows(IllegalArgumentException.class, () -> BusynessSnapshotCodec.decode(otherVersion));
+        assertThrows(IllegalArgumentException.class,
+                () -> BusynessSnapshotCodec.decode(Arrays.copyOf(data, data.length - 1)));
+    }
+}
@@ -0,0 +1,32 @@
+package com.group4.smarttrip.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group4.smarttrip.entities.Zone;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class BusynessSnapshotServiceTest {
+
+    @Test
+    void testZoneMetadataIsEncodedOncePerCatalog() {
+        ZoneService zoneService = mock(ZoneService.class);
+        when(zoneService.getAllZones())
+                .thenReturn(List.of(new Zone(1L, "Midtown", 40.75, -73.98)))
+                .thenReturn(List.of(new Zone(1L, "Midtown", 40.75, -73.98), new Zone(2L, "Chelsea", 40.74, -74.0)));
+        BusynessSnapshotService service = new BusynessSnapshotService(null, zoneService, new ObjectMapper());
+
+        BusynessSnapshotService.EncodedBody first = service.getZoneMetadata();
+        assertSame(first, service.getZoneMetadata());
+        verify(zoneService, times(1)).getAllZones();
+
+        service.clearZoneMetadata();
+        BusynessSnapshotService.EncodedBody reloaded = service.getZoneMetadata();
+        assertNotEquals(first.etag(), reloaded.etag());
+        assertSame(reloaded, service.getZoneMetadata());
+        verify(zoneService, times(2)).getAllZones();
+    }
+}
@@ -0,0 +1,70 @@
+package com.group4.smarttrip.services;
+
+import com.group4.smarttrip.dtos.ZoneBusynessDto;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class BusynessStreamingTest {
+
+    private BusynessService busynessService;
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        busynessService = spy(new BusynessService(mock(ZoneService.class), mock(WeatherService.class),
+                mock(FlowService.class), null, null, ObservationRegistry.NOOP, null, null));
+        doAnswer(invocation -> {
+            Long zoneId = invocation.getArgument(0);
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+                if (zoneId == 13L) {
+                    throw new IllegalStateException("ML service unavailable");
+                }
+                return new ZoneBusynessDto(zoneId, "Zone " + zoneId, 40.75, -73.98, zoneId * 10.0, "low", LocalDateTime.now());
+            } finally {
+                running.decrementAndGet();
+            }
+        }).when(busynessService).getCurrentBusynessByZone(anyLong());
+    }
+
+    @Test
+    void testEveryZoneIsStreamedWithinTheConcurrencyLimit() throws Exception {
+        List<Long> zoneIds = LongStream.rangeClosed(1, 40).boxed().toList();
+        List<Long> streamed = Collections.synchronizedList(new ArrayList<>());
+
+        busynessService.forEachCurrentBusyness(zoneIds, 4, dto -> streamed.add(dto.getZoneId()));
+
+        // Zone 13 fails and is skipped; the rest of the stream still completes
+        assertEquals(39, streamed.size());
+        assertFalse(streamed.contains(13L));
+        assertTrue(maxRunning.get() <= 4);
+    }
+
+    @Test
+    void testSinkFailureStopsTheStream() {
+        List<Long> zoneIds = LongStream.rangeClosed(1, 40).boxed().toList();
+        AtomicInteger accepted = new AtomicInteger();
+
+        assertThrows(IOException.class, () -> busynessService.forEachCurrentBusyness(zoneIds, 4, dto -> {
+            if (accepted.incrementAndGet() == 3) {
+                throw new IOException("Broken pipe");
+            }
+        }));
+        assertEquals(3, accepted.get());
+    }
+}
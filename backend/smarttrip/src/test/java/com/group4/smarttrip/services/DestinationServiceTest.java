@@ -56,6 +56,19 @@ class DestinationServiceTest {
         assertEquals(visitTime, newDestination.getVisitTime());
     }
 
+    @Test
+    void testCreateDestinations() {
+        List<CreateDestinationRequest> requests = List.of(
+                new CreateDestinationRequest(tripId, destinationName, lat, lon, visitTime),
+                new CreateDestinationRequest(tripId, "Bryant Park", 40.7536, -73.9832, visitTime.plusHours(1)));
+
+        List<DestinationDto> created = destinationService.createDestinations(requests);
+
+        assertEquals(2, created.size());
+        assertNotEquals(created.get(0).getDestinationId(), created.get(1).getDestinationId());
+        assertEquals(2, destinationService.getDestinationsByTripId(tripId).size());
+    }
+
     @Test
     void testGetDestinationsByTripId() {
         CreateDestinationRequest request = new CreateDestinationRequest(tripId, destinationName, lat, lon, visitTime);
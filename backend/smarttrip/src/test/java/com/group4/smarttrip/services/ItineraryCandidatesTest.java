@@ -0,0 +1,98 @@
+package com.group4.smarttrip.services;
+
+import com.group4.smarttrip.dtos.UserPreferences;
+import com.group4.smarttrip.entities.Place;
+import com.group4.smarttrip.entities.Zone;
+import com.group4.smarttrip.repositories.PlaceRepository;
+import com.group4.smarttrip.utils.DistanceMatrix;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ItineraryCandidatesTest {
+
+    private static final List<String> CATEGORIES = List.of("museum", "toys", "cafe", "gallery");
+
+    private static List<Place> places(long zoneId, String category, int count) {
+        Zone zone = new Zone(zoneId, "Zone " + zoneId, 40.75, -73.98);
+        List<Place> places = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = zoneId * 1_000_000 + CATEGORIES.indexOf(category) * 10_000L + i;
+            places.add(new Place(id, category + " " + id, 40.75f + i * 1e-5f, -73.98f, zone, category, 1.0, 0));
+        }
+        return places;
+    }
+
+    @Test
+    void testSampleIsUniformAndInRandomOrder() {
+        List<Place> places = places(1L, "museum", 10);
+        int[] kept = new int[10];
+        int[] first = new int[10];
+        SplittableRandom random = new SplittableRandom(3);
+
+        for (int run = 0; run < 20_000; run++) {
+            List<Place> sample = ItineraryService.sample(places, 3, random);
+            assertEquals(3, new HashSet<>(sample).size());
+            for (Place place : sample) {
+                kept[(int) (place.getPlaceId() % 10)]++;
+            }
+            first[(int) (sample.get(0).getPlaceId() % 10)]++;
+        }
+
+        for (int i = 0; i < 10; i++) {
+            // Expected 6000 kept and 2000 first per place
+            assertEquals(6000, kept[i], 400);
+            assertEquals(2000, first[i], 250);
+        }
+        assertEquals(2, ItineraryService.sample(places.subList(0, 2), 3, random).size());
+        assertTrue(ItineraryService.sample(List.of(), 3, random).isEmpty());
+    }
+
+    @Test
+    void testThousandsOfPlacesPerZoneAreSampledInParallel() {
+        PlaceRepository placeRepository = mock(PlaceRepository.class);
+        when(placeRepository.findByZone_ZoneIdAndCategory(anyLong(), anyString())).thenAnswer(invocation ->
+                places(invocation.getArgument(0), invocation.getArgument(1), 5000));
+        ItineraryService itineraryService = new ItineraryService(placeRepository, null, null, ObservationRegistry.NOOP,
+                DistanceMatrix.EMPTY, new ItinerarySkeletonCache(new NoOpCacheManager(), 5));
+
+        List<Place> itinerary = itineraryService.generateItinerary(
+                new UserPreferences("Trip", null, 9, 8, List.of("museum", "toys", "cafe", "gallery", "museum")));
+
+        // Three default zones, four distinct categories
+        verify(placeRepository, times(12)).findByZone_ZoneIdAndCategory(anyLong(), anyString());
+        Set<String> categories = new HashSet<>();
+        itinerary.forEach(place -> categories.add(place.getCategory()));
+        assertEquals(Set.copyOf(CATEGORIES), categories);
+        assertEquals(8, itinerary.size());
+        assertEquals(1, itinerary.stream().filter(place -> place.getCategory().equals("cafe")).count());
+        assertEquals(itinerary.size(), itinerary.stream().map(Place::getPlaceId).distinct().count());
+    }
+
+    @Test
+    void testSameSeedGivesTheSameItinerary() {
+        PlaceRepository placeRepository = mock(PlaceRepository.class);
+        when(placeRepository.findByZone_ZoneIdAndCategory(anyLong(), anyString())).thenAnswer(invocation ->
+                places(invocation.getArgument(0), invocation.getArgument(1), 200));
+        ItineraryService itineraryService = new ItineraryService(placeRepository, null, null, ObservationRegistry.NOOP,
+                DistanceMatrix.EMPTY, new ItinerarySkeletonCache(new NoOpCacheManager(), 5));
+        UserPreferences preferences = new UserPreferences("Trip", null, 10, 6, List.of("museum", "gallery", "cafe"));
+
+        List<Long> first = itineraryService.generateItinerary(preferences, 42L).stream().map(Place::getPlaceId).toList();
+        List<Long> again = itineraryService.generateItinerary(preferences, 42L).stream().map(Place::getPlaceId).toList();
+        List<Long> other = itineraryService.generateItinerary(preferences, 43L).stream().map(Place::getPlaceId).toList();
+
+        assertEquals(first, again);
+        assertNotEquals(first, other);
+    }
+}
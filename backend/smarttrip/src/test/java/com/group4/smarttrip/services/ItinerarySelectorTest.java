@@ -0,0 +1,115 @@
+package com.group4.smarttrip.services;
+
+import com.group4.smarttrip.entities.Place;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ItinerarySelectorTest {
+
+    private long nextId = 1;
+
+    private Place place(String category, double hours) {
+        long id = nextId++;
+        return new Place(id, category + " " + id, 40.75f, -73.98f, null, category, hours, 0);
+    }
+
+    private static double hours(List<Place> places) {
+        return places.stream().mapToDouble(Place::getEstimatedDuration).sum();
+    }
+
+    private static long count(List<Place> places, String category) {
+        return places.stream().filter(place -> place.getCategory().equals(category)).count();
+    }
+
+    @Test
+    void testCoversEveryCategoryWhereFirstFitWouldNot() {
+        // First fit takes the 3 h museum first and then has no room for the 1.5 h park
+        List<List<Place>> buckets = List.of(
+                List.of(place("museum", 3), place("museum", 1)),
+                List.of(place("park", 1.5), place("park", 0.5)),
+                List.of(place("cafe", 1), place("cafe", 0.5)));
+
+        List<Place> selected = ItinerarySelector.select(buckets, new boolean[]{false, false, true}, 4);
+
+        assertEquals(1, count(selected, "cafe"));
+        assertTrue(count(selected, "museum") >= 1);
+        assertTrue(count(selected, "park") >= 1);
+        assertEquals(4.0, hours(selected), 1e-9);
+    }
+
+    @Test
+    void testUsesTheWholeBudgetWhenItCan() {
+        List<List<Place>> buckets = List.of(
+                List.of(place("gallery", 2.5), place("gallery", 2), place("gallery", 1.5)),
+                List.of(place("toys", 2.5), place("toys", 0.5)));
+
+        List<Place> selected = ItinerarySelector.select(buckets, new boolean[2], 6);
+
+        assertEquals(6.0, hours(selected), 1e-9);
+        assertTrue(count(selected, "gallery") >= 1 && count(selected, "toys") >= 1);
+    }
+
+    @Test
+    void testSpreadsPlacesOverCategoriesOnEqualTime() {
+        List<List<Place>> buckets = List.of(
+                List.of(place("museum", 1), place("museum", 1), place("museum", 1)),
+                List.of(place("park", 1), place("park", 1), place("park", 1)));
+
+        List<Place> selected = ItinerarySelector.select(buckets, new boolean[2], 4);
+
+        assertEquals(2, count(selected, "museum"));
+        assertEquals(2, count(selected, "park"));
+    }
+
+    @Test
+    void testSingleVisitCategoriesAndDuplicatesAreTakenOnce() {
+        Place bakery = place("bakery", 0.5);
+        Place sameBakery = new Place(nextId++, bakery.getPlaceName(), 40.76f, -73.97f, null, "bakery", 0.5, 0);
+        List<List<Place>> buckets = List.of(
+                List.of(bakery, sameBakery, place("bakery", 0.5)),
+                List.of(place("museum", 0.5)));
+
+        List<Place> selected = ItinerarySelector.select(buckets, new boolean[]{true, false}, 9);
+
+        assertEquals(2, selected.size());
+        assertSame(bakery, selected.get(0));
+    }
+
+    @Test
+    void testDurationsRoundUpToTenMinuteUnits() {
+        assertEquals(1, ItinerarySelector.units(0));
+        assertEquals(6, ItinerarySelector.units(1.0));
+        assertEquals(7, ItinerarySelector.units(1.05));
+        // Two 50-minute-and-a-bit stops do not fit into 1 h 40 min
+        List<Place> selected = ItinerarySelector.select(
+                List.of(List.of(place("spa", 0.85), place("spa", 0.85))), new boolean[1], 1 + 40 / 60.0);
+        assertEquals(1, selected.size());
+        assertTrue(ItinerarySelector.select(List.of(List.of(place("spa", 1))), new boolean[1], 0).isEmpty());
+    }
+
+    @Test
+    void testLargeInputsStayWithinTheBudget() {
+        SplittableRandom random = new SplittableRandom(5);
+        List<List<Place>> buckets = new ArrayList<>();
+        for (int category = 0; category < 10; category++) {
+            List<Place> bucket = new ArrayList<>();
+            for (int i = 0; i < 9; i++) {
+                bucket.add(place("category" + category, 0.5 + random.nextInt(8) * 0.25));
+            }
+            buckets.add(bucket);
+        }
+
+        long start = System.nanoTime();
+        List<Place> selected = ItinerarySelector.select(buckets, new boolean[10], 12);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(hours(selected) <= 12 + 1e-9);
+        assertEquals(10, selected.stream().map(Place::getCategory).distinct().count());
+        assertTrue(millis < 500, "selection took " + millis + " ms");
+    }
+}
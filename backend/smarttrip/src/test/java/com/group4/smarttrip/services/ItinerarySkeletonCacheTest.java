@@ -0,0 +1,136 @@
+package com.group4.smarttrip.services;
+
+import com.group4.smarttrip.dtos.UserPreferences;
+import com.group4.smarttrip.entities.Place;
+import com.group4.smarttrip.entities.Zone;
+import com.group4.smarttrip.repositories.PlaceRepository;
+import com.group4.smarttrip.utils.DistanceMatrix;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ItinerarySkeletonCacheTest {
+
+    private final Map<Long, Place> catalog = new HashMap<>();
+    private final Map<String, List<Place>> lookups = new HashMap<>();
+
+    private List<Place> places(long zoneId, String category, int count) {
+        return lookups.computeIfAbsent(zoneId + category, ignored -> createPlaces(zoneId, category, count));
+    }
+
+    private List<Place> createPlaces(long zoneId, String category, int count) {
+        Zone zone = new Zone(zoneId, "Zone " + zoneId, 40.75, -73.98);
+        List<Place> places = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = zoneId * 1_000_000 + Math.abs(category.hashCode() % 1000) * 1000L + i;
+            Place place = new Place(id, category + " " + id, 40.75f + i * 1e-4f, -73.98f, zone, category, 1.0, 0);
+            catalog.put(id, place);
+            places.add(place);
+        }
+        return places;
+    }
+
+    private PlaceRepository placeRepository() {
+        PlaceRepository placeRepository = mock(PlaceRepository.class);
+        when(placeRepository.findByZone_ZoneIdAndCategory(anyLong(), anyString())).thenAnswer(invocation ->
+                places(invocation.getArgument(0), invocation.getArgument(1), 50));
+        when(placeRepository.findById(anyLong())).thenAnswer(invocation ->
+                Optional.ofNullable(catalog.get(invocation.<Long>getArgument(0))));
+        return placeRepository;
+    }
+
+    private static List<Long> ids(List<Place> places) {
+        return places.stream().map(Place::getPlaceId).toList();
+    }
+
+    @Test
+    void testKeyIgnoresTripNameAndCategoryOrder() {
+        ItinerarySkeletonCache.Key key = ItinerarySkeletonCache.Key.of(
+                new UserPreferences("Saturday", "Midtown", 9, 6, List.of("park", "museum", "park")));
+
+        assertEquals(key, ItinerarySkeletonCache.Key.of(
+                new UserPreferences("Other", "Midtown", 9, 6, List.of("museum", "park"))));
+        assertEquals(List.of("museum", "park"), key.categories());
+        assertNotEquals(key, ItinerarySkeletonCache.Key.of(
+                new UserPreferences("Saturday", "Midtown", 10, 6, List.of("museum", "park"))));
+        assertEquals(List.of(), ItinerarySkeletonCache.Key.of(new UserPreferences("Trip", null, 9, 6, null)).categories());
+    }
+
+    @Test
+    void testKeyNormalizesZoneNameLikeTheLookup() {
+        ItinerarySkeletonCache.Key key = ItinerarySkeletonCache.Key.of(
+                new UserPreferences("Trip", "Midtown", 9, 6, List.of("museum")));
+
+        assertEquals(key, ItinerarySkeletonCache.Key.of(
+                new UserPreferences("Trip", "  Midtown ", 9, 6, List.of("museum"))));
+        // The lookup is case-sensitive, so the key is too
+        assertNotEquals(key, ItinerarySkeletonCache.Key.of(
+                new UserPreferences("Trip", "midtown", 9, 6, List.of("museum"))));
+        assertEquals(ItinerarySkeletonCache.Key.of(new UserPreferences("Trip", null, 9, 6, null)),
+                ItinerarySkeletonCache.Key.of(new UserPreferences("Trip", " ", 9, 6, null)));
+    }
+
+    @Test
+    void testServesCachedVariantsOnceEnoughWereGenerated() {
+        PlaceRepository placeRepository = placeRepository();
+        ItinerarySkeletonCache cache = new ItinerarySkeletonCache(
+                new ConcurrentMapCacheManager(ItinerarySkeletonCache.CACHE_NAME), 3);
+        ItineraryService itineraryService = new ItineraryService(placeRepository, null, null,
+                ObservationRegistry.NOOP, DistanceMatrix.EMPTY, cache);
+
+        Set<List<Long>> generated = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            generated.add(ids(itineraryService.generateItinerary(
+                    new UserPreferences("Trip " + i, null, 9, 6, List.of("museum", "gallery", "cafe")))));
+        }
+        // Three default zones, three categories, three generated itineraries
+        verify(placeRepository, times(27)).findByZone_ZoneIdAndCategory(anyLong(), anyString());
+
+        Set<List<Long>> served = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            List<Place> itinerary = itineraryService.generateItinerary(
+                    new UserPreferences("Again", null, 9, 6, List.of("cafe", "museum", "gallery")));
+            assertFalse(itinerary.isEmpty());
+            served.add(ids(itinerary));
+        }
+        verify(placeRepository, times(27)).findByZone_ZoneIdAndCategory(anyLong(), anyString());
+        assertEquals(generated, served);
+    }
+
+    @Test
+    void testCatalogReloadAndMissingPlacesDropTheVariants() {
+        ItinerarySkeletonCache cache = new ItinerarySkeletonCache(
+                new ConcurrentMapCacheManager(ItinerarySkeletonCache.CACHE_NAME), 1);
+        PlaceRepository placeRepository = placeRepository();
+        ItineraryService itineraryService = new ItineraryService(placeRepository, null, null,
+                ObservationRegistry.NOOP, DistanceMatrix.EMPTY, cache);
+        UserPreferences preferences = new UserPreferences("Trip", null, 10, 4, List.of("museum", "park"));
+        ItinerarySkeletonCache.Key key = ItinerarySkeletonCache.Key.of(preferences);
+
+        List<Place> first = itineraryService.generateItinerary(preferences);
+        assertEquals(ids(first), ids(itineraryService.generateItinerary(preferences)));
+
+        cache.clear();
+        assertTrue(cache.pick(key, new Random()).isEmpty());
+
+        List<Place> second = itineraryService.generateItinerary(preferences);
+        assertTrue(cache.pick(key, new Random()).isPresent());
+        catalog.remove(second.get(0).getPlaceId());
+        assertFalse(itineraryService.generateItinerary(preferences).isEmpty());
+        // Generated three times: first, after the reload and after the removed place
+        verify(placeRepository, times(18)).findByZone_ZoneIdAndCategory(anyLong(), anyString());
+    }
+}
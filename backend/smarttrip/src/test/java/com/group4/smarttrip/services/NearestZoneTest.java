@@ -0,0 +1,41 @@
+package com.group4.smarttrip.services;
+
+import com.group4.smarttrip.entities.Zone;
+import com.group4.smarttrip.repositories.ZoneRepository;
+import com.group4.smarttrip.utils.GeoUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class NearestZoneTest {
+
+    @Test
+    void testTiesGoToTheFirstZone() {
+        double offset = 0.5 / GeoUtils.KM_PER_DEGREE;
+        Zone north = new Zone(1L, "North", 40.75 + offset, -73.98);
+        Zone south = new Zone(2L, "South", 40.75 - offset, -73.98);
+        ZoneRepository zoneRepository = mock(ZoneRepository.class);
+        ZoneService zoneService = new ZoneService(zoneRepository);
+
+        when(zoneRepository.findAll()).thenReturn(List.of(north, south));
+        assertSame(north, zoneService.findNearestZone(40.75, -73.98, 1.5));
+        assertEquals(List.of(north), zoneService.findNearestZones(new double[]{40.75}, new double[]{-73.98}, 1.5));
+
+        when(zoneRepository.findAll()).thenReturn(List.of(south, north));
+        assertSame(south, zoneService.findNearestZone(40.75, -73.98, 1.5));
+    }
+
+    @Test
+    void testZonesBeyondTheLimitAreIgnored() {
+        Zone zone = new Zone(1L, "Edge", 40.75 + 1 / GeoUtils.KM_PER_DEGREE, -73.98);
+        ZoneRepository zoneRepository = mock(ZoneRepository.class);
+        when(zoneRepository.findAll()).thenReturn(List.of(zone));
+        ZoneService zoneService = new ZoneService(zoneRepository);
+
+        assertSame(zone, zoneService.findNearestZone(40.75, -73.98, 1.01));
+        assertNull(zoneService.findNearestZone(40.75, -73.98, 0.99));
+    }
+}
@@ -0,0 +1,132 @@
+package com.group4.smarttrip.services;
+
+import com.group4.smarttrip.dtos.CreateDestinationRequest;
+import com.group4.smarttrip.entities.Place;
+import com.group4.smarttrip.entities.Trip;
+import com.group4.smarttrip.entities.Zone;
+import com.group4.smarttrip.repositories.PlaceRepository;
+import com.group4.smarttrip.repositories.TripRepository;
+import com.group4.smarttrip.repositories.ZoneRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pins the number of SQL statements behind each read endpoint, so an association that turns
+ * eager again (or a new lazy load in a loop) fails here instead of showing up as N+1 selects.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class QueryCountTest {
+
+    private static final long ZONE_ID = 990_001L;
+    private static final long FIRST_PLACE_ID = 990_001L;
+
+    @Autowired
+    private TripService tripService;
+
+    @Autowired
+    private DestinationService destinationService;
+
+    @Autowired
+    private TripRepository tripRepository;
+
+    @Autowired
+    private PlaceRepository placeRepository;
+
+    @Autowired
+    private ZoneRepository zoneRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long tripId;
+    private final Long userId = 990_001L;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Zone zone = zoneRepository.save(new Zone(ZONE_ID, "Query Count Zone", 40.75, -73.98));
+        for (int i = 0; i < 3; i++) {
+            placeRepository.save(new Place(FIRST_PLACE_ID + i, "Museum " + i, 40.75f, -73.98f, zone, "museum", 1.5, 0));
+        }
+
+        Trip trip = new Trip();
+        trip.setTripName("Query count trip");
+        trip.setStartDateTime(LocalDateTime.of(2025, 6, 20, 9, 0));
+        trip.setEndDateTime(LocalDateTime.of(2025, 6, 20, 17, 0));
+        tripId = tripService.createTrip(trip, userId).getTripId();
+        destinationService.createDestinations(List.of(
+                new CreateDestinationRequest(tripId, "Stop 1", 40.75, -73.98, LocalDateTime.of(2025, 6, 20, 9, 0)),
+                new CreateDestinationRequest(tripId, "Stop 2", 40.76, -73.97, LocalDateTime.of(2025, 6, 20, 11, 0)),
+                new CreateDestinationRequest(tripId, "Stop 3", 40.77, -73.96, LocalDateTime.of(2025, 6, 20, 14, 0))));
+
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        tripRepository.deleteById(tripId);
+        for (int i = 0; i < 3; i++) {
+            placeRepository.deleteById(FIRST_PLACE_ID + i);
+        }
+        zoneRepository.deleteById(ZONE_ID);
+    }
+
+    @Test
+    void testViewTripLoadsTripAndDestinationsInOneQuery() {
+        tripService.viewTrip(tripId);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testUserTripsPageIsOneQuery() {
+        tripService.getUserTrips(userId, 1);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testDestinationsByTripDoNotReloadTheTripPerRow() {
+        destinationService.getDestinationsByTripId(tripId);
+
+        // Trip lookup plus one select for all destinations
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testReferenceLookupsAreServedFromSecondLevelCache() {
+        zoneRepository.findById(ZONE_ID);
+        zoneRepository.findByZoneName("Query Count Zone");
+        placeRepository.findByZone_ZoneIdAndCategory(ZONE_ID, "museum");
+        statistics.clear();
+
+        assertTrue(zoneRepository.findById(ZONE_ID).isPresent());
+        assertEquals(1, zoneRepository.findByZoneName("Query Count Zone").size());
+        assertEquals(3, placeRepository.findByZone_ZoneIdAndCategory(ZONE_ID, "museum").size());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void testPlaceLookupDoesNotLoadZones() {
+        List<Place> places = placeRepository.findByZone_ZoneIdAndCategory(ZONE_ID, "museum");
+
+        assertEquals(3, places.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityStatistics(Zone.class.getName()).getLoadCount());
+    }
+}
@@ -0,0 +1,104 @@
+package com.group4.smarttrip.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.group4.smarttrip.dtos.TripDetailsResponse;
+import com.group4.smarttrip.dtos.TripDto;
+import com.group4.smarttrip.dtos.UserPreferences;
+import com.group4.smarttrip.entities.Place;
+import com.group4.smarttrip.mappers.TripMapper;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class SmartItineraryServiceTest {
+
+    private InMemorySpanExporter exporter;
+    private SdkTracerProvider tracerProvider;
+    private GeminiService geminiService;
+    private ItineraryService itineraryService;
+    private TripService tripService;
+    private SmartItineraryService smartItineraryService;
+
+    @BeforeEach
+    void setUp() {
+        exporter = InMemorySpanExporter.create();
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+                .build();
+        OtelTracer tracer = new OtelTracer(tracerProvider.get("test"), new OtelCurrentTraceContext(), event -> { });
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer));
+
+        geminiService = mock(GeminiService.class);
+        itineraryService = mock(ItineraryService.class);
+        tripService = mock(TripService.class);
+        smartItineraryService = new SmartItineraryService(geminiService, itineraryService, tripService,
+                mock(DestinationService.class), new ObjectMapper(), mock(TripMapper.class), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void testStagesAreChildSpansOfTheRequest() throws Exception {
+        when(geminiService.callGemini(anyString())).thenReturn(
+                "```json\n{\"tripName\":\"Test\",\"zoneName\":\"Times Square\",\"startingTime\":9,"
+                        + "\"duration\":4,\"placeCategory\":[\"cafe\"]}\n```");
+        Place place = new Place(1L, "Cafe", 40.75f, -73.98f, null, "cafe", 1.0, 0);
+        when(itineraryService.generateItinerary(any(UserPreferences.class))).thenReturn(List.of(place));
+        TripDto trip = new TripDto();
+        trip.setTripId(7L);
+        when(tripService.createTrip(any(), eq(1L))).thenReturn(trip);
+        when(tripService.viewTrip(7L)).thenReturn(new TripDetailsResponse(trip, List.of()));
+
+        smartItineraryService.generateSmartTrip("a morning in midtown", 1L);
+
+        List<SpanData> spans = exporter.getFinishedSpanItems();
+        SpanData root = spans.stream()
+                .filter(span -> span.getName().equals("smarttrip.smart-itinerary"))
+                .findFirst()
+                .orElseThrow();
+        List<String> stages = spans.stream()
+                .filter(span -> span.getParentSpanId().equals(root.getSpanId()))
+                .map(SpanData::getName)
+                .toList();
+
+        assertEquals(List.of(
+                "smart-itinerary gemini",
+                "smart-itinerary parse-preferences",
+                "smart-itinerary generate-itinerary",
+                "smart-itinerary create-trip",
+                "smart-itinerary insert-destinations",
+                "smart-itinerary load-trip"), stages);
+    }
+
+    @Test
+    void testFailedStageIsRecordedOnItsSpan() {
+        when(geminiService.callGemini(anyString())).thenReturn("not json");
+
+        assertThrows(Exception.class, () -> smartItineraryService.generateSmartTrip("anything", 1L));
+
+        SpanData parse = exporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getName().equals("smart-itinerary parse-preferences"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(StatusCode.ERROR, parse.getStatus().getStatusCode());
+    }
+}
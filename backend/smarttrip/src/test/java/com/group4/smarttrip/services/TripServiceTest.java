@@ -3,6 +3,7 @@ package com.group4.smarttrip.services;
 import com.group4.smarttrip.dtos.CreateDestinationRequest;
 import com.group4.smarttrip.dtos.CreateTripRequest;
 import com.group4.smarttrip.dtos.DestinationDto;
+import com.group4.smarttrip.dtos.TripDetailsResponse;
 import com.group4.smarttrip.dtos.TripDto;
 import com.group4.smarttrip.entities.Destination;
 import com.group4.smarttrip.entities.Place;
@@ -17,7 +18,6 @@ import org.springframework.boot.test.context.SpringBootTest;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -265,12 +265,12 @@ public class TripServiceTest {
         destinationService.createDestination(destRequest);
 
         // Step 3: get and validate viewTrip
-        Map<String, Object> tripDetail = tripService.viewTrip(tripId);
+        TripDetailsResponse tripDetail = tripService.viewTrip(tripId);
 
-        TripDto resultTripDto = (TripDto) tripDetail.get("basicInfo");
+        TripDto resultTripDto = tripDetail.basicInfo();
         assertEquals(tripDto.getTripName(), resultTripDto.getTripName());
 
-        List<DestinationDto> destinations = (List<DestinationDto>) tripDetail.get("destinations");
+        List<DestinationDto> destinations = tripDetail.destinations();
         assertEquals(1, destinations.size());
 
         // Step 4: validate destination
@@ -0,0 +1,71 @@
+package com.group4.smarttrip.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(20);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(400);
+
+    @Test
+    void testRejectsAtTheLimitUntilASlotIsReleased() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 2);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejected());
+
+        limiter.release(FAST);
+        assertEquals(1, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRisesAndRecovers() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 64);
+        run(limiter, 40, 200, FAST);
+        assertEquals(64, limiter.getLimit());
+
+        run(limiter, 40, 100, SLOW);
+        int shed = limiter.getLimit();
+        assertTrue(shed < 32, "limit after slowdown was " + shed);
+        assertTrue(shed >= 4);
+
+        // Demand is back above the limit, so it is allowed to grow again
+        run(limiter, 64, 2000, FAST);
+        assertEquals(64, limiter.getLimit());
+    }
+
+    @Test
+    void testAsyncReleaseDoesNotSample() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 8);
+
+        assertTrue(limiter.tryAcquire());
+        limiter.releaseWithoutSample();
+
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(8, limiter.getLimit());
+    }
+
+    /** Holds the given number of requests in flight and completes them one by one. */
+    private static void run(AdaptiveConcurrencyLimiter limiter, int concurrency, int requests, long rttNanos) {
+        int held = 0;
+        for (int i = 0; i < requests; i++) {
+            while (held < concurrency && limiter.tryAcquire()) {
+                held++;
+            }
+            if (held > 0) {
+                limiter.release(rttNanos);
+                held--;
+            }
+        }
+        while (held-- > 0) {
+            limiter.releaseWithoutSample();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.group4.smarttrip.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkheadTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testFullBulkheadRejectsAfterTheMaximumWait() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("gemini", 2, 2, 50);
+        Future<String> first = occupy(bulkhead, false);
+        Future<String> second = occupy(bulkhead, false);
+        awaitActive(bulkhead, 2);
+
+        long start = System.nanoTime();
+        BulkheadFullException e = assertThrows(BulkheadFullException.class, () -> bulkhead.call(() -> "late"));
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals("gemini", e.getDownstream());
+        assertTrue(waitedMillis >= 40 && waitedMillis < 1000, "waited " + waitedMillis + " ms");
+        assertEquals(1, bulkhead.getRejected());
+
+        release.countDown();
+        assertEquals("done", first.get(5, TimeUnit.SECONDS));
+        assertEquals("done", second.get(5, TimeUnit.SECONDS));
+        assertEquals("ok", bulkhead.call(() -> "ok"));
+        assertEquals(0, bulkhead.getActive());
+        assertEquals(3, bulkhead.getAcquired());
+    }
+
+    @Test
+    void testBackgroundWorkLeavesSlotsForInteractiveCalls() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("ml", 3, 1, 20);
+        occupy(bulkhead, true);
+        awaitActive(bulkhead, 1);
+
+        assertThrows(BulkheadFullException.class,
+                () -> Bulkhead.runAsBackground(() -> bulkhead.call(() -> "second background")));
+        assertEquals("interactive", bulkhead.call(() -> "interactive"));
+        assertEquals(1, bulkhead.getActive());
+    }
+
+    @Test
+    void testSlotIsReleasedWhenTheCallFails() {
+        Bulkhead bulkhead = new Bulkhead("weather", 1, 1, 0);
+
+        assertThrows(IllegalStateException.class, () -> bulkhead.call(() -> {
+            throw new IllegalStateException("downstream error");
+        }));
+        assertEquals(0, bulkhead.getActive());
+        assertEquals("ok", bulkhead.call(() -> "ok"));
+    }
+
+    private Future<String> occupy(Bulkhead bulkhead, boolean background) {
+        return executor.submit(() -> {
+            if (background) {
+                return Bulkhead.runAsBackground(() -> bulkhead.call(this::awaitRelease));
+            }
+            return bulkhead.call(this::awaitRelease);
+        });
+    }
+
+    private String awaitRelease() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "done";
+    }
+
+    private static void awaitActive(Bulkhead bulkhead, int active) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bulkhead.getActive() < active && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(active, bulkhead.getActive());
+    }
+}
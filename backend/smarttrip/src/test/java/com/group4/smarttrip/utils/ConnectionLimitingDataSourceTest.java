@@ -0,0 +1,68 @@
+package com.group4.smarttrip.utils;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ConnectionLimitingDataSourceTest {
+
+    @Test
+    void testRejectsBeyondLimitUntilAConnectionIsClosed() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 2, 10);
+
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+        assertEquals(2, dataSource.getActiveConnections());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        first.close();
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    void testCloseReleasesOnlyOnce() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        Connection delegate = mock(Connection.class);
+        when(target.getConnection()).thenReturn(delegate);
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, 10);
+
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        assertEquals(0, dataSource.getActiveConnections());
+        verify(delegate, times(2)).close();
+    }
+
+    @Test
+    void testPermitIsReturnedWhenTheTargetFails() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(target, 1, 10);
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(0, dataSource.getActiveConnections());
+    }
+
+    @Test
+    void testDelegatesOtherCalls() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        Connection delegate = mock(Connection.class);
+        when(delegate.getAutoCommit()).thenReturn(true);
+        when(delegate.isReadOnly()).thenThrow(new SQLException("boom"));
+        when(target.getConnection()).thenReturn(delegate);
+
+        Connection connection = new ConnectionLimitingDataSource(target, 1, 10).getConnection();
+
+        assertTrue(connection.getAutoCommit());
+        assertThrows(SQLException.class, connection::isReadOnly);
+    }
+}
@@ -0,0 +1,82 @@
+package com.group4.smarttrip.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistanceMatrixTest {
+
+    @TempDir
+    Path directory;
+
+    private static DistanceMatrix.ClusterPlaces randomCluster(long key, int size, long seed) {
+        Random random = new Random(seed);
+        long[] ids = new long[size];
+        double[] lats = new double[size];
+        double[] lons = new double[size];
+        for (int i = 0; i < size; i++) {
+            // Unsorted ids, as they come from the zone lookups
+            ids[i] = key * 100_000 + (i * 7919L) % 100_000;
+            lats[i] = 40.70 + random.nextDouble() * 0.18;
+            lons[i] = -74.02 + random.nextDouble() * 0.11;
+        }
+        return new DistanceMatrix.ClusterPlaces(key, ids, lats, lons);
+    }
+
+    @Test
+    void testLookupsMatchTheGridDistance() throws IOException {
+        List<DistanceMatrix.ClusterPlaces> clusters = List.of(randomCluster(-1, 300, 1), randomCluster(14, 57, 2));
+        Path half = directory.resolve("half.bin");
+        Path full = directory.resolve("full.bin");
+        DistanceMatrix.write(half, clusters, true);
+        DistanceMatrix.write(full, clusters, false);
+
+        for (Path path : List.of(half, full)) {
+            DistanceMatrix matrix = DistanceMatrix.open(path);
+            assertEquals(2, matrix.clusterCount());
+            for (DistanceMatrix.ClusterPlaces places : clusters) {
+                DistanceMatrix.Cluster cluster = matrix.cluster(places.key());
+                assertEquals(places.placeIds().length, cluster.size());
+                for (int i = 0; i < places.placeIds().length; i++) {
+                    int from = cluster.indexOf(places.placeIds()[i]);
+                    for (int j = 0; j < places.placeIds().length; j += 7) {
+                        int to = cluster.indexOf(places.placeIds()[j]);
+                        double expected = GeoUtils.gridDistance(
+                                places.lats()[i], places.lons()[i], places.lats()[j], places.lons()[j]);
+                        assertEquals(expected, cluster.distance(from, to), Math.max(expected * 1e-3, 1e-6));
+                    }
+                }
+            }
+        }
+        assertTrue(Files.size(half) < Files.size(full));
+    }
+
+    @Test
+    void testUnknownPlacesAndClustersAreReported() throws IOException {
+        Path path = directory.resolve("distances.bin");
+        DistanceMatrix.write(path, List.of(randomCluster(3, 20, 3)), true);
+        DistanceMatrix matrix = DistanceMatrix.open(path);
+
+        assertEquals(-1, matrix.cluster(3).indexOf(42));
+        assertNull(matrix.cluster(4));
+        assertNull(DistanceMatrix.EMPTY.cluster(3));
+    }
+
+    @Test
+    void testRejectsOtherFilesAndDuplicatePlaces() throws IOException {
+        Path other = Files.writeString(directory.resolve("other.bin"), "not a distance matrix");
+        assertThrows(IOException.class, () -> DistanceMatrix.open(other));
+
+        DistanceMatrix.ClusterPlaces duplicate = new DistanceMatrix.ClusterPlaces(
+                1, new long[]{5, 5}, new double[]{40.75, 40.76}, new double[]{-73.98, -73.97});
+        assertThrows(IllegalArgumentException.class,
+                () -> DistanceMatrix.write(directory.resolve("duplicate.bin"), List.of(duplicate), true));
+    }
+}
@@ -0,0 +1,109 @@
+package com.group4.smarttrip.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeoUtilsTest {
+
+    private static final double TIMES_SQUARE_LAT = 40.758;
+    private static final double TIMES_SQUARE_LON = -73.9855;
+
+    @Test
+    void testEquirectangularMatchesHaversineAcrossManhattan() {
+        Random random = new Random(1);
+        for (int i = 0; i < 10_000; i++) {
+            double lat1 = 40.70 + random.nextDouble() * 0.18;
+            double lon1 = -74.02 + random.nextDouble() * 0.11;
+            double lat2 = 40.70 + random.nextDouble() * 0.18;
+            double lon2 = -74.02 + random.nextDouble() * 0.11;
+
+            double exact = GeoUtils.haversineDistance(lat1, lon1, lat2, lon2);
+            double approx = GeoUtils.equirectangularDistance(lat1, lon1, lat2, lon2, GeoUtils.cosLatitude(lat1));
+            assertEquals(exact, approx, Math.max(exact * 0.005, 1e-9));
+        }
+    }
+
+    @Test
+    void testComparatorRanksLikeHaversine() {
+        Random random = new Random(2);
+        List<double[]> points = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            points.add(new double[]{40.70 + random.nextDouble() * 0.18, -74.02 + random.nextDouble() * 0.11});
+        }
+
+        List<double[]> exact = new ArrayList<>(points);
+        exact.sort(Comparator.comparingDouble(p -> GeoUtils.haversineDistance(TIMES_SQUARE_LAT, TIMES_SQUARE_LON, p[0], p[1])));
+        List<double[]> approx = new ArrayList<>(points);
+        approx.sort(GeoUtils.byDistanceFrom(TIMES_SQUARE_LAT, TIMES_SQUARE_LON, p -> p[0], p -> p[1]));
+
+        assertEquals(exact.subList(0, 10), approx.subList(0, 10));
+    }
+
+    @Test
+    void testRadiusConversion() {
+        double oneKmNorth = TIMES_SQUARE_LAT + 1 / GeoUtils.KM_PER_DEGREE;
+        double squared = GeoUtils.squaredPlanarDistance(TIMES_SQUARE_LAT, TIMES_SQUARE_LON, oneKmNorth, TIMES_SQUARE_LON,
+                GeoUtils.cosLatitude(TIMES_SQUARE_LAT));
+        assertEquals(GeoUtils.squaredDegrees(1.0), squared, 1e-12);
+    }
+
+    @Test
+    void testSmallestIndices() {
+        double[] values = {5, 1, 4, 1.5, 9, 0.5, 3};
+
+        assertArrayEquals(new int[]{5, 1, 3}, GeoUtils.smallestIndices(values, 3));
+        assertArrayEquals(new int[]{5, 1, 3, 6, 2, 0, 4}, GeoUtils.smallestIndices(values, 10));
+        assertEquals(0, GeoUtils.smallestIndices(new double[0], 3).length);
+    }
+
+    @Test
+    void testSmallestIndicesOfNone() {
+        double[] values = {5, 1, 4};
+
+        assertArrayEquals(new int[0], GeoUtils.smallestIndices(values, 0));
+        assertArrayEquals(new int[0], GeoUtils.smallestIndices(values, -1));
+    }
+
+    @Test
+    void testBatchMatchesScalar() {
+        Random random = new Random(3);
+        double[] lats = IntStream.range(0, 100).mapToDouble(i -> 40.70 + random.nextDouble() * 0.18).toArray();
+        double[] lons = IntStream.range(0, 100).mapToDouble(i -> -74.02 + random.nextDouble() * 0.11).toArray();
+        double[] out = new double[100];
+
+        GeoUtils.squaredPlanarDistances(TIMES_SQUARE_LAT, TIMES_SQUARE_LON, lats, lons, out);
+
+        double cosLat = GeoUtils.cosLatitude(TIMES_SQUARE_LAT);
+        for (int i = 0; i < out.length; i++) {
+            assertEquals(GeoUtils.squaredPlanarDistance(TIMES_SQUARE_LAT, TIMES_SQUARE_LON, lats[i], lons[i], cosLat), out[i]);
+        }
+    }
+
+    @Test
+    void testGridDistanceFollowsTheAvenues() {
+        // One kilometre up an avenue: no detour
+        double north = Math.cos(GeoUtils.MANHATTAN_GRID_ANGLE) / GeoUtils.KM_PER_DEGREE;
+        double east = Math.sin(GeoUtils.MANHATTAN_GRID_ANGLE) / GeoUtils.KM_PER_DEGREE
+                / GeoUtils.cosLatitude(TIMES_SQUARE_LAT + north / 2);
+        assertEquals(1.0, GeoUtils.gridDistance(TIMES_SQUARE_LAT, TIMES_SQUARE_LON,
+                TIMES_SQUARE_LAT + north, TIMES_SQUARE_LON + east), 1e-9);
+
+        Random random = new Random(2);
+        for (int i = 0; i < 10_000; i++) {
+            double lat = 40.70 + random.nextDouble() * 0.18;
+            double lon = -74.02 + random.nextDouble() * 0.11;
+            double straight = GeoUtils.equirectangularDistance(TIMES_SQUARE_LAT, TIMES_SQUARE_LON, lat, lon,
+                    GeoUtils.cosLatitude((TIMES_SQUARE_LAT + lat) / 2));
+            double grid = GeoUtils.gridDistance(TIMES_SQUARE_LAT, TIMES_SQUARE_LON, lat, lon);
+            assertTrue(grid >= straight - 1e-9 && grid <= straight * Math.sqrt(2) + 1e-9);
+            assertEquals(grid, GeoUtils.gridDistance(lat, lon, TIMES_SQUARE_LAT, TIMES_SQUARE_LON), 1e-9);
+        }
+    }
+}
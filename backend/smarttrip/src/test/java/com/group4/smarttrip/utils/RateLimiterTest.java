@@ -0,0 +1,69 @@
+package com.group4.smarttrip.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(-5_000_000_000L);
+
+    @Test
+    void testBurstThenOneTokenPerInterval() {
+        // 2 per second, burst of 3
+        RateLimiter limiter = new RateLimiter(2, 3, 64, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(42L));
+        }
+        long wait = limiter.tryAcquire(42L);
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), wait);
+        assertEquals(1, limiter.getRejected());
+
+        now.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire(42L));
+        assertTrue(limiter.tryAcquire(42L) > 0);
+
+        // An idle client refills up to the burst, not beyond it
+        now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire(42L));
+        }
+        assertTrue(limiter.tryAcquire(42L) > 0);
+    }
+
+    @Test
+    void testClientsHaveSeparateBuckets() {
+        RateLimiter limiter = new RateLimiter(1, 1, 4096, now::get);
+
+        assertEquals(0, limiter.tryAcquire(1L));
+        assertTrue(limiter.tryAcquire(1L) > 0);
+        assertEquals(0, limiter.tryAcquire(3L));
+        assertEquals(0, limiter.tryAcquire(2L));
+    }
+
+    @Test
+    void testConcurrentCallersNeverExceedTheBurst() throws InterruptedException {
+        RateLimiter limiter = new RateLimiter(0.001, 100, 16, now::get);
+        AtomicInteger allowed = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 1000; i++) {
+                executor.submit(() -> {
+                    if (limiter.tryAcquire(7L) == 0) {
+                        allowed.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertEquals(100, allowed.get());
+        assertEquals(900, limiter.getRejected());
+    }
+}
@@ -0,0 +1,71 @@
+package com.group4.smarttrip.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstReplicaConnection = mock(Connection.class);
+    private final Connection secondReplicaConnection = mock(Connection.class);
+    private ReplicaRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = new ReplicaRoutingDataSource(dataSource(primaryConnection),
+                List.of(dataSource(firstReplicaConnection), dataSource(secondReplicaConnection)),
+                new ReadYourWritesGuard(Duration.ofMinutes(1), 100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWritesGuard.clearCurrentUser();
+    }
+
+    @Test
+    void testReadOnlyTransactionsAlternateBetweenReplicas() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(firstReplicaConnection, dataSource.getConnection());
+        assertSame(secondReplicaConnection, dataSource.getConnection());
+        assertSame(firstReplicaConnection, dataSource.getConnection());
+        assertEquals(3, dataSource.getReplicaConnections());
+    }
+
+    @Test
+    void testWritesGoToPrimary() throws SQLException {
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(1, dataSource.getPrimaryConnections());
+    }
+
+    @Test
+    void testUserReadsFromPrimaryAfterOwnWrite() throws SQLException {
+        ReadYourWritesGuard.setCurrentUser(7L);
+        dataSource.getConnection();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(1, dataSource.getPinnedToPrimary());
+
+        ReadYourWritesGuard.setCurrentUser(8L);
+        assertSame(firstReplicaConnection, dataSource.getConnection());
+    }
+
+    private static DataSource dataSource(Connection connection) throws SQLException {
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
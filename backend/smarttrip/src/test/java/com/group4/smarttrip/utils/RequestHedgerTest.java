@@ -0,0 +1,102 @@
+package com.group4.smarttrip.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestHedgerTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testDisabledHedgerCallsOnce() {
+        RequestHedger hedger = new RequestHedger(false, 0.95, 10, 50, 1.0, executor);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedger.call(() -> {
+            calls.incrementAndGet();
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(1, calls.get());
+        assertEquals(0, hedger.getHedgesFired());
+    }
+
+    @Test
+    void testSlowPrimaryIsHedgedAndHedgeWins() {
+        RequestHedger hedger = new RequestHedger(true, 0.95, 10, 50, 1.0, executor);
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = hedger.call(() -> {
+            if (calls.incrementAndGet() == 1) {
+                sleep(1000);
+                return "primary";
+            }
+            return "hedge";
+        });
+
+        assertEquals("hedge", result);
+        assertEquals(2, calls.get());
+        assertEquals(1, hedger.getHedgesFired());
+        assertEquals(1, hedger.getHedgesWon());
+    }
+
+    @Test
+    void testFastPrimaryIsNotHedged() {
+        RequestHedger hedger = new RequestHedger(true, 0.95, 10, 500, 1.0, executor);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("ok", hedger.call(() -> "ok"));
+        }
+
+        assertEquals(10, hedger.getRequests());
+        assertEquals(0, hedger.getHedgesFired());
+    }
+
+    @Test
+    void testHedgeRateIsCapped() {
+        RequestHedger hedger = new RequestHedger(true, 0.95, 1, 1, 0.0, executor);
+
+        for (int i = 0; i < 15; i++) {
+            hedger.call(() -> {
+                sleep(5);
+                return "slow";
+            });
+        }
+
+        // With no refill only the initial burst of ten hedges is allowed.
+        assertEquals(10, hedger.getHedgesFired());
+    }
+
+    @Test
+    void testFailureIsPropagatedWhenBothAttemptsFail() {
+        RequestHedger hedger = new RequestHedger(true, 0.95, 10, 20, 1.0, executor);
+
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, () ->
+                hedger.call(() -> {
+                    sleep(50);
+                    throw new IllegalArgumentException("ML service unavailable");
+                }));
+
+        assertEquals("ML service unavailable", ex.getMessage());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -23,7 +23,7 @@ import type { Place } from '../types';
 import { usePlacesSearch } from '../services/usePlacesSearch';
 import { useItinerary }   from '../services/useItinerary';
 import { fetchTripDetails, setAuthToken } from '../services/api';
-import { fetchBusynessLevel } from '../services/useBusyness';   // NEW
+import { fetchBusynessLevels } from '../services/useBusyness';
 import type { BusynessLevel } from '../types';
 
 
@@ -110,17 +110,16 @@ export default function ExplorePlaces() {
 async function enrichWithBusyness(
   places: Place[]
 ): Promise<(Place & { busynessLevel: BusynessLevel })[]> {
-  return await Promise.all(
-    places.map(async (p) => {
-      const rawLevel = await fetchBusynessLevel(p.lat, p.lng);
-      const level = isBusynessLevel(rawLevel) ? rawLevel : ('unknown' as BusynessLevel);
-
-      return {
-        ...p,
-        busynessLevel: level,
-      };
-    })
-  );
+  const levels = await fetchBusynessLevels(places.map((p) => ({ lat: p.lat, lon: p.lng })));
+  return places.map((p, i) => {
+    const rawLevel = levels[i];
+    const level = isBusynessLevel(rawLevel) ? rawLevel : ('unknown' as BusynessLevel);
+
+    return {
+      ...p,
+      busynessLevel: level,
+    };
+  });
 }
 
 
@@ -142,13 +141,10 @@ async function enrichWithBusyness(
   const applyBusyness = useCallback(async (list: Place[]): Promise<Place[]> => {
     if (!busyness) return list;                 // nothing selected → skip
 
-    const out: Place[] = [];
-    for (const p of list) {
-      const lvl = await fetchBusynessLevel(p.lat, p.lng);
-      if (lvl === busyness) out.push(p);
-      if (out.length === 20) break;             // cap early – we never need more
-    }
-    return out;
+    const levels = await fetchBusynessLevels(list.map(p => ({ lat: p.lat, lon: p.lng })));
+    return list
+      .filter((_, i) => levels[i] === busyness)
+      .slice(0, 20);                            // cap – we never need more
   }, [busyness]);
 
   /* ------------------------------------------------------------------
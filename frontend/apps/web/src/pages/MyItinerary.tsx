@@ -22,7 +22,7 @@ import MapPane    from '../components/MapPane';
 import { useItinerary } from '../services/useItinerary';
 import { fetchTripDetails, setAuthToken } from '../services/api';
 import type { Place } from '../types';
-import { fetchBusynessLevel } from '../services/useBusyness';
+import { fetchBusynessLevels } from '../services/useBusyness';
 import type { BusynessLevel } from '../types';
 
 /* ---------- Helpers ---------- */
@@ -35,13 +35,12 @@ const isBusynessLevel = (v: any): v is BusynessLevel =>
 async function enrichWithBusyness(
   places: Place[],
 ): Promise<(Place & { busynessLevel: BusynessLevel })[]> {
-  return Promise.all(
-    places.map(async p => {
-      const raw = await fetchBusynessLevel(p.lat, p.lng);
-      const lvl = isBusynessLevel(raw) ? raw : 'unknown';
-      return { ...p, busynessLevel: lvl };
-    }),
-  );
+  const levels = await fetchBusynessLevels(places.map(p => ({ lat: p.lat, lon: p.lng })));
+  return places.map((p, i) => {
+    const raw = levels[i];
+    const lvl = isBusynessLevel(raw) ? raw : 'unknown';
+    return { ...p, busynessLevel: lvl };
+  });
 }
 
 /** Default map centre (Manhattan). */
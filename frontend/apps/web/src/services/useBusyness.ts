@@ -36,6 +36,40 @@ export async function fetchBusynessLevel(lat: number, lon: number): Promise<stri
   }
 }
 
+const BATCH_LIMIT = 100;   // smarttrip.busyness.batch.max-points
+
+/**
+ * Batch helper – current busyness for many coordinates in one POST /api/busyness/batch.
+ * Returns levels in input order ("low" when unknown, never throws).
+ *
+ *  • Cached coordinates are not sent again; the rest share a single request
+ *    (split at the server's per-request limit).
+ */
+export async function fetchBusynessLevels(
+  points: { lat: number; lon: number }[],
+): Promise<string[]> {
+  const levels = points.map(p => cache.get(key(p.lat, p.lon)));
+  const missing = points.filter((_, i) => levels[i] === undefined);
+  if (missing.length === 0) return levels as string[];
+
+  try {
+    const data: any[] = [];
+    for (let i = 0; i < missing.length; i += BATCH_LIMIT) {
+      const { data: chunk } = await axios.post('/api/busyness/batch', missing.slice(i, i + BATCH_LIMIT));
+      data.push(...chunk);
+    }
+    let next = 0;
+    return points.map((p, i) => {
+      if (levels[i] !== undefined) return levels[i]!;
+      const raw = data[next++]?.busynessLevel ?? 'unknown';
+      if (raw !== 'unknown') cache.set(key(p.lat, p.lon), raw);
+      return raw === 'unknown' ? 'low' : raw;
+    });
+  } catch {
+    return levels.map(l => l ?? 'low');
+  }
+}
+
 /** React hook that returns the busyness level (or null while loading). */
 export function useBusyness(
   lat: number | undefined,